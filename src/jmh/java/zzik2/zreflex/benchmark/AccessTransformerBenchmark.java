@@ -0,0 +1,85 @@
+package zzik2.zreflex.benchmark;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zzik2.zreflex.mixin.ModifyAccessTransformer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ModifyAccessTransformer#postApply} over synthetic targets built by {@link SyntheticClassNodes}.
+ *
+ * <p>
+ * {@code perMixin} is one {@code postApply} call; {@code perTarget} repeats it {@value #MIXINS_PER_TARGET} times, as mixin does
+ * for every mixin applied to the same target. The transformation is idempotent once applied, so the same nodes are
+ * reused and each call scans the whole class as it would in a real launch. Remapping is an identity mapping so the
+ * scan itself is measured rather than the mapping tables. Scores are passes or targets per second; the GC profiler
+ * of the {@code jmh} task adds the allocation per pass.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessTransformerBenchmark {
+
+    static final int MIXINS_PER_TARGET = 24;
+
+    @Param({ "100", "1000", "5000" })
+    public int members;
+
+    @Param({ "0", "10", "100" })
+    public int annotationInterval;
+
+    private final ModifyAccessTransformer transformer = new IdentityMappingTransformer();
+    private final String[] mixins = new String[MIXINS_PER_TARGET];
+    private ClassNode target;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < mixins.length; i++) {
+            mixins[i] = "zzik2.zreflex.benchmark.mixin.Mixin" + i;
+        }
+        target = SyntheticClassNodes.build("net/minecraft/world/SyntheticTarget", members, annotationInterval);
+        transformer.postApply(target.name, target, mixins[0], null);
+    }
+
+    @Benchmark
+    public ClassNode perMixin() {
+        transformer.postApply(target.name, target, mixins[0], null);
+        return target;
+    }
+
+    @Benchmark
+    public ClassNode perTarget() {
+        for (String mixin : mixins) {
+            transformer.postApply(target.name, target, mixin, null);
+        }
+        return target;
+    }
+
+    static final class IdentityMappingTransformer extends ModifyAccessTransformer {
+
+        @Override
+        protected String mapFieldName(String owner, String name, String desc) {
+            return name;
+        }
+
+        @Override
+        protected String mapMethodName(String owner, String name, String desc) {
+            return name;
+        }
+    }
+}
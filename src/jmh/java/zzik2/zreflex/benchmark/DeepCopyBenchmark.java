@@ -0,0 +1,98 @@
+package zzik2.zreflex.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zzik2.zreflex.reflection.DeepCopier;
+import zzik2.zreflex.reflection.ZReflectionTool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ZReflectionTool#deepCopy(Object)} of a small block-entity-like graph, with arrays, a list, a linked map
+ * sharing an element with the array and a sorted set, against a serialization round-trip, the usual way to take
+ * such a snapshot without a copier.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeepCopyBenchmark {
+
+    private final Container source = Container.create();
+
+    @Benchmark
+    public Container deepCopy() {
+        return DeepCopier.defaults().copy(source);
+    }
+
+    @Benchmark
+    public Object serializationRoundTrip() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(source);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    enum Mode {
+        ACTIVE, IDLE
+    }
+
+    static class Slot implements Serializable {
+        private final String item;
+        private int count;
+
+        Slot(String item, int count) {
+            this.item = item;
+            this.count = count;
+        }
+    }
+
+    static class Container implements Serializable {
+        private long id = 42L;
+        private String name = "chest";
+        private Mode mode = Mode.ACTIVE;
+        private int[] counts = { 1, 2, 3 };
+        private Slot[] slots = new Slot[2];
+        private List<Slot> items = new ArrayList<>();
+        private Map<String, Slot> byName = new LinkedHashMap<>();
+        private Set<String> tags = new TreeSet<>();
+
+        static Container create() {
+            Container container = new Container();
+            Slot stone = new Slot("stone", 64);
+            container.slots[0] = stone;
+            container.byName.put("stone", stone);
+            for (int i = 1; i <= 8; i++) {
+                container.items.add(new Slot("item" + i, i));
+            }
+            container.byName.put("dirt", new Slot("dirt", 16));
+            container.tags.add("b");
+            container.tags.add("a");
+            return container;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package zzik2.zreflex.benchmark;
+
+import zzik2.zreflex.enumeration.ZEnumTool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enum benchmark targets. Every call to {@link #freshElement(int)} defines a new copy of {@link ExtensibleElement} in its own
+ * class loader and grows it to the requested number of constants, so mutations in one iteration never leak into the
+ * next.
+ */
+final class EnumFixtures {
+
+    static final Class<?>[] PARAMETER_TYPES = { int.class };
+
+    private EnumFixtures() {
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static Class<? extends Enum<?>> freshElement(int size) {
+        Class type = define(ExtensibleElement.class);
+        List constants = new ArrayList<>(size);
+        for (int ordinal = 1; ordinal < size; ordinal++) {
+            constants.add(ZEnumTool.createInstance(type, "C" + ordinal, ordinal, PARAMETER_TYPES, ordinal));
+        }
+        ZEnumTool.addConstants(type, constants);
+        return type;
+    }
+
+    private static Class<?> define(Class<?> type) {
+        String name = type.getName();
+        ClassLoader loader = new ClassLoader(type.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String className, boolean resolve) throws ClassNotFoundException {
+                if (!className.equals(name)) {
+                    return super.loadClass(className, resolve);
+                }
+                synchronized (getClassLoadingLock(className)) {
+                    Class<?> loaded = findLoadedClass(className);
+                    if (loaded != null) {
+                        return loaded;
+                    }
+                    try (InputStream in = getResourceAsStream(className.replace('.', '/') + ".class")) {
+                        byte[] bytes = in.readAllBytes();
+                        return defineClass(className, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(className, e);
+                    }
+                }
+            }
+        };
+        try {
+            return Class.forName(name, true, loader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
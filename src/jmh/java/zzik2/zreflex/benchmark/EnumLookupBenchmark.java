@@ -0,0 +1,69 @@
+package zzik2.zreflex.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zzik2.zreflex.enumeration.ZEnumTool;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of {@link ZEnumTool#createInstance} and of {@code valueOf}/{@code values()} on an enum grown to
+ * {@code size} constants at runtime. None of these calls mutate the enum, so they run in average-time mode.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class EnumLookupBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int size;
+
+    private Class type;
+    private MethodHandle values;
+    private String lastName;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        type = EnumFixtures.freshElement(size);
+        values = MethodHandles.publicLookup().findStatic(type, "values", MethodType.methodType(Array.newInstance(type, 0)
+                .getClass()));
+        lastName = size > 1 ? "C" + (size - 1) : "BASE";
+    }
+
+    @Benchmark
+    public Object createInstance() {
+        return ZEnumTool.createInstance(type, "DETACHED", size, EnumFixtures.PARAMETER_TYPES, size);
+    }
+
+    @Benchmark
+    public Object valueOf() {
+        return Enum.valueOf(type, lastName);
+    }
+
+    @Benchmark
+    public Object values() throws Throwable {
+        return values.invoke();
+    }
+
+    @Benchmark
+    public Object getEnumConstants() {
+        return type.getEnumConstants();
+    }
+}
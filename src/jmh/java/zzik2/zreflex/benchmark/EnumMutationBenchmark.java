@@ -0,0 +1,106 @@
+package zzik2.zreflex.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zzik2.zreflex.enumeration.EnumExtender;
+import zzik2.zreflex.enumeration.ZEnumTool;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of adding constants to an enum that already holds {@code size} constants, alone and followed by the
+ * {@code valueOf} or {@code values()} call that has to rebuild what the mutation invalidated.
+ *
+ * <p>
+ * Mutations are permanent, so every iteration starts from a fresh enum copy and is measured as a single shot of
+ * {@value #BATCH} calls; the enum grows by that many constants during the shot. Mod loading runs these paths a few
+ * times per constant rather than millions of times, which is what the single-shot mode models. Scores are per batch.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, batchSize = EnumMutationBenchmark.BATCH)
+@Measurement(iterations = 30, batchSize = EnumMutationBenchmark.BATCH)
+@Fork(1)
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class EnumMutationBenchmark {
+
+    static final int BATCH = 10;
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int size;
+
+    private Class type;
+    private MethodHandle values;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws ReflectiveOperationException {
+        type = EnumFixtures.freshElement(size);
+        values = MethodHandles.publicLookup().findStatic(type, "values", MethodType.methodType(Array.newInstance(type, 0)
+                .getClass()));
+        next = size;
+    }
+
+    @Benchmark
+    public Object addConstant() {
+        return ZEnumTool.addConstant(type, "ADDED" + next, EnumFixtures.PARAMETER_TYPES, next++);
+    }
+
+    @Benchmark
+    public Object addConstantThenValueOf() {
+        String name = "ADDED" + next;
+        ZEnumTool.addConstant(type, name, EnumFixtures.PARAMETER_TYPES, next++);
+        return Enum.valueOf(type, name);
+    }
+
+    @Benchmark
+    public Object addConstantThenValues() throws Throwable {
+        ZEnumTool.addConstant(type, "ADDED" + next, EnumFixtures.PARAMETER_TYPES, next++);
+        return values.invoke();
+    }
+
+    @Benchmark
+    public Object addConstantThenGetEnumConstants() {
+        ZEnumTool.addConstant(type, "ADDED" + next, EnumFixtures.PARAMETER_TYPES, next++);
+        return type.getEnumConstants();
+    }
+
+    @Benchmark
+    public int addConstants() {
+        int ordinal = ((Object[]) type.getEnumConstants()).length;
+        List constants = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            constants.add(ZEnumTool.createInstance(type, "ADDED" + next, ordinal + i, EnumFixtures.PARAMETER_TYPES,
+                    next++));
+        }
+        ZEnumTool.addConstants(type, constants);
+        return constants.size();
+    }
+
+    @Benchmark
+    public Object extend() {
+        EnumExtender extender = ZEnumTool.extend(type);
+        for (int i = 0; i < BATCH; i++) {
+            extender.add("ADDED" + next, EnumFixtures.PARAMETER_TYPES, next++);
+        }
+        return extender.commit();
+    }
+}
@@ -0,0 +1,15 @@
+package zzik2.zreflex.benchmark;
+
+/**
+ * The enum grown by the enum benchmarks. It is a top-level class so that a copy defined by another class loader
+ * does not need access to an enclosing class.
+ */
+public enum ExtensibleElement {
+    BASE(0);
+
+    final int weight;
+
+    ExtensibleElement(int weight) {
+        this.weight = weight;
+    }
+}
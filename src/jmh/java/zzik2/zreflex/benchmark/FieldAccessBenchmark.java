@@ -0,0 +1,239 @@
+package zzik2.zreflex.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zzik2.zreflex.benchmark.Fixtures.Leaf;
+import zzik2.zreflex.benchmark.Fixtures.Root;
+import zzik2.zreflex.reflection.FieldAccessor;
+import zzik2.zreflex.reflection.ZReflectionTool;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ZReflectionTool#getFieldValue(Object, String)} and {@link ZReflectionTool#setFieldValue(Object, String,
+ * Object)} against direct access, {@link Field} and {@link MethodHandle} baselines, for primitive and reference
+ * fields declared on the target class and on a superclass seven levels up. The {@code Accessor} cases go through
+ * a {@link FieldAccessor} kept in a {@code static final} field, next to a {@code static final VarHandle}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldAccessBenchmark {
+
+    private static final Field COUNT;
+    private static final Field NAME;
+    private static final Field ROOT_COUNT;
+    private static final Field ROOT_NAME;
+    private static final MethodHandle COUNT_GETTER;
+    private static final MethodHandle COUNT_SETTER;
+    private static final MethodHandle NAME_GETTER;
+    private static final MethodHandle NAME_SETTER;
+    private static final MethodHandle ROOT_COUNT_GETTER;
+    private static final MethodHandle ROOT_NAME_GETTER;
+    private static final VarHandle COUNT_VAR;
+    private static final FieldAccessor<Integer> COUNT_ACCESSOR =
+            ZReflectionTool.getFieldAccessor(Leaf.class, "count");
+    private static final FieldAccessor<String> NAME_ACCESSOR = ZReflectionTool.getFieldAccessor(Leaf.class, "name");
+    private static final FieldAccessor<Integer> ROOT_COUNT_ACCESSOR =
+            ZReflectionTool.getFieldAccessor(Root.class, "rootCount");
+
+    static {
+        try {
+            COUNT = Leaf.class.getDeclaredField("count");
+            NAME = Leaf.class.getDeclaredField("name");
+            ROOT_COUNT = Root.class.getDeclaredField("rootCount");
+            ROOT_NAME = Root.class.getDeclaredField("rootName");
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            COUNT_GETTER = lookup.unreflectGetter(COUNT);
+            COUNT_SETTER = lookup.unreflectSetter(COUNT);
+            NAME_GETTER = lookup.unreflectGetter(NAME);
+            NAME_SETTER = lookup.unreflectSetter(NAME);
+            ROOT_COUNT_GETTER = lookup.unreflectGetter(ROOT_COUNT);
+            ROOT_NAME_GETTER = lookup.unreflectGetter(ROOT_NAME);
+            COUNT_VAR = lookup.unreflectVarHandle(COUNT);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Leaf target;
+    private Integer boxedCount;
+    private String name;
+
+    @Setup
+    public void setUp() {
+        target = new Leaf();
+        boxedCount = 1000;
+        name = "renamed";
+    }
+
+    @Benchmark
+    public int getIntDirect() {
+        return target.count;
+    }
+
+    @Benchmark
+    public int getIntField() throws IllegalAccessException {
+        return COUNT.getInt(target);
+    }
+
+    @Benchmark
+    public int getIntHandle() throws Throwable {
+        return (int) COUNT_GETTER.invokeExact(target);
+    }
+
+    @Benchmark
+    public int getIntVarHandle() {
+        return (int) COUNT_VAR.get(target);
+    }
+
+    @Benchmark
+    public int getIntAccessor() {
+        return COUNT_ACCESSOR.getInt(target);
+    }
+
+    @Benchmark
+    public Object getIntZReflex() {
+        return ZReflectionTool.getFieldValue(target, "count");
+    }
+
+    @Benchmark
+    public String getReferenceDirect() {
+        return target.name;
+    }
+
+    @Benchmark
+    public Object getReferenceField() throws IllegalAccessException {
+        return NAME.get(target);
+    }
+
+    @Benchmark
+    public String getReferenceHandle() throws Throwable {
+        return (String) NAME_GETTER.invokeExact(target);
+    }
+
+    @Benchmark
+    public String getReferenceAccessor() {
+        return NAME_ACCESSOR.get(target);
+    }
+
+    @Benchmark
+    public Object getReferenceZReflex() {
+        return ZReflectionTool.getFieldValue(target, "name");
+    }
+
+    @Benchmark
+    public int getDeepIntDirect() {
+        return target.rootCount;
+    }
+
+    @Benchmark
+    public int getDeepIntField() throws IllegalAccessException {
+        return ROOT_COUNT.getInt(target);
+    }
+
+    @Benchmark
+    public int getDeepIntHandle() throws Throwable {
+        return (int) ROOT_COUNT_GETTER.invokeExact((Root) target);
+    }
+
+    @Benchmark
+    public int getDeepIntAccessor() {
+        return ROOT_COUNT_ACCESSOR.getInt(target);
+    }
+
+    @Benchmark
+    public Object getDeepIntZReflex() {
+        return ZReflectionTool.getFieldValue(target, "rootCount");
+    }
+
+    @Benchmark
+    public Object getDeepReferenceField() throws IllegalAccessException {
+        return ROOT_NAME.get(target);
+    }
+
+    @Benchmark
+    public String getDeepReferenceHandle() throws Throwable {
+        return (String) ROOT_NAME_GETTER.invokeExact((Root) target);
+    }
+
+    @Benchmark
+    public Object getDeepReferenceZReflex() {
+        return ZReflectionTool.getFieldValue(target, "rootName");
+    }
+
+    @Benchmark
+    public void setIntDirect() {
+        target.count = boxedCount;
+    }
+
+    @Benchmark
+    public void setIntField() throws IllegalAccessException {
+        COUNT.setInt(target, boxedCount);
+    }
+
+    @Benchmark
+    public void setIntHandle() throws Throwable {
+        COUNT_SETTER.invokeExact(target, (int) boxedCount);
+    }
+
+    @Benchmark
+    public void setIntVarHandle() {
+        COUNT_VAR.set(target, (int) boxedCount);
+    }
+
+    @Benchmark
+    public void setIntAccessor() {
+        COUNT_ACCESSOR.setInt(target, boxedCount);
+    }
+
+    @Benchmark
+    public void setIntZReflex() {
+        ZReflectionTool.setFieldValue(target, "count", boxedCount);
+    }
+
+    @Benchmark
+    public void setReferenceDirect() {
+        target.name = name;
+    }
+
+    @Benchmark
+    public void setReferenceField() throws IllegalAccessException {
+        NAME.set(target, name);
+    }
+
+    @Benchmark
+    public void setReferenceHandle() throws Throwable {
+        NAME_SETTER.invokeExact(target, name);
+    }
+
+    @Benchmark
+    public void setReferenceAccessor() {
+        NAME_ACCESSOR.set(target, name);
+    }
+
+    @Benchmark
+    public void setReferenceZReflex() {
+        ZReflectionTool.setFieldValue(target, "name", name);
+    }
+
+    @Benchmark
+    public void setDeepReferenceZReflex() {
+        ZReflectionTool.setFieldValue(target, "rootName", name);
+    }
+}
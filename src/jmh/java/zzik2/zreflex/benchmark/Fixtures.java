@@ -0,0 +1,66 @@
+package zzik2.zreflex.benchmark;
+
+/**
+ * Shared benchmark targets: a leaf class seven levels below the class that declares the "deep" members, so lookups
+ * on {@link Leaf} have to walk the whole hierarchy to find them.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static class Root {
+        int rootCount = 1;
+        String rootName = "root";
+
+        String describeRoot() {
+            return rootName;
+        }
+    }
+
+    static class Level1 extends Root {
+        int level1;
+    }
+
+    static class Level2 extends Level1 {
+        int level2;
+    }
+
+    static class Level3 extends Level2 {
+        int level3;
+    }
+
+    static class Level4 extends Level3 {
+        int level4;
+    }
+
+    static class Level5 extends Level4 {
+        int level5;
+    }
+
+    static class Level6 extends Level5 {
+        int level6;
+    }
+
+    static class Leaf extends Level6 {
+        int count;
+        String name;
+
+        Leaf() {
+            this(0, "leaf");
+        }
+
+        Leaf(int count, String name) {
+            this.count = count;
+            this.name = name;
+        }
+
+        int add(int a, int b) {
+            return a + b + count;
+        }
+    }
+
+    public interface Greeter {
+        String greet(String name);
+    }
+}
@@ -0,0 +1,222 @@
+package zzik2.zreflex.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import zzik2.zreflex.benchmark.Fixtures.Leaf;
+import zzik2.zreflex.benchmark.Fixtures.Root;
+import zzik2.zreflex.reflection.BatchOptions;
+import zzik2.zreflex.reflection.BatchResult;
+import zzik2.zreflex.reflection.InstanceFactory;
+import zzik2.zreflex.reflection.MethodInvoker;
+import zzik2.zreflex.reflection.ZReflectionTool;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ZReflectionTool#invokeMethod(Object, String, Object...)}, {@code invokeMethodExact} and
+ * {@code newInstance} against direct calls, {@link Method}/{@link Constructor} and {@link MethodHandle} baselines.
+ * Argument arrays are prepared once so only the call itself is measured. The {@code Invoker} and {@code Factory} cases
+ * call a {@link MethodInvoker} or {@link InstanceFactory} kept in a {@code static final} field. The {@code invokeAll}
+ * case calls a method on a batch of targets through a pool of each {@code parallelism} and chunk size, and reports
+ * the time per batch, to show how batch invocation scales with cores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvocationBenchmark {
+
+    private static final Class<?>[] ADD_TYPES = { int.class, int.class };
+    private static final Class<?>[] CONSTRUCTOR_TYPES = { int.class, String.class };
+
+    private static final Method ADD;
+    private static final Method DESCRIBE_ROOT;
+    private static final Constructor<Leaf> CONSTRUCTOR;
+    private static final MethodHandle ADD_HANDLE;
+    private static final MethodHandle DESCRIBE_ROOT_HANDLE;
+    private static final MethodHandle CONSTRUCTOR_HANDLE;
+    private static final MethodInvoker ADD_INVOKER = ZReflectionTool.getMethodInvoker(Leaf.class, "add", ADD_TYPES);
+    private static final MethodInvoker DESCRIBE_ROOT_INVOKER =
+            ZReflectionTool.getMethodInvoker(Root.class, "describeRoot");
+    private static final InstanceFactory<Leaf> FACTORY =
+            ZReflectionTool.getInstanceFactory(Leaf.class, CONSTRUCTOR_TYPES);
+
+    static {
+        try {
+            ADD = Leaf.class.getDeclaredMethod("add", ADD_TYPES);
+            DESCRIBE_ROOT = Root.class.getDeclaredMethod("describeRoot");
+            CONSTRUCTOR = Leaf.class.getDeclaredConstructor(CONSTRUCTOR_TYPES);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ADD_HANDLE = lookup.unreflect(ADD);
+            DESCRIBE_ROOT_HANDLE = lookup.unreflect(DESCRIBE_ROOT);
+            CONSTRUCTOR_HANDLE = lookup.unreflectConstructor(CONSTRUCTOR);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Leaf target;
+    private int a;
+    private int b;
+    private String name;
+    private Object[] addArgs;
+    private Object[] constructorArgs;
+
+    @Setup
+    public void setUp() {
+        target = new Leaf();
+        a = 3;
+        b = 4;
+        name = "created";
+        addArgs = new Object[] { a, b };
+        constructorArgs = new Object[] { a, name };
+    }
+
+    @Benchmark
+    public int invokeDirect() {
+        return target.add(a, b);
+    }
+
+    @Benchmark
+    public Object invokeMethod() throws ReflectiveOperationException {
+        return ADD.invoke(target, addArgs);
+    }
+
+    @Benchmark
+    public int invokeHandle() throws Throwable {
+        return (int) ADD_HANDLE.invokeExact(target, a, b);
+    }
+
+    @Benchmark
+    public Object invokeInvoker() {
+        return ADD_INVOKER.invoke2(target, addArgs[0], addArgs[1]);
+    }
+
+    @Benchmark
+    public int invokeIntInvoker() {
+        return ADD_INVOKER.invokeInt2(target, addArgs[0], addArgs[1]);
+    }
+
+    @Benchmark
+    public Object invokeZReflex() {
+        return ZReflectionTool.invokeMethod(target, "add", addArgs);
+    }
+
+    @Benchmark
+    public Object invokeFixedArityZReflex() {
+        return ZReflectionTool.invokeMethod2(target, "add", addArgs[0], addArgs[1]);
+    }
+
+    @Benchmark
+    public Object invokeExactZReflex() {
+        return ZReflectionTool.invokeMethodExact(target, "add", ADD_TYPES, addArgs);
+    }
+
+    @Benchmark
+    public String invokeDeepDirect() {
+        return target.describeRoot();
+    }
+
+    @Benchmark
+    public Object invokeDeepMethod() throws ReflectiveOperationException {
+        return DESCRIBE_ROOT.invoke(target);
+    }
+
+    @Benchmark
+    public String invokeDeepHandle() throws Throwable {
+        return (String) DESCRIBE_ROOT_HANDLE.invokeExact((Root) target);
+    }
+
+    @Benchmark
+    public String invokeDeepInvoker() {
+        return DESCRIBE_ROOT_INVOKER.invoke0(target);
+    }
+
+    @Benchmark
+    public Object invokeDeepZReflex() {
+        return ZReflectionTool.invokeMethod0(target, "describeRoot");
+    }
+
+    @Benchmark
+    public Leaf newInstanceDirect() {
+        return new Leaf(a, name);
+    }
+
+    @Benchmark
+    public Leaf newInstanceConstructor() throws ReflectiveOperationException {
+        return CONSTRUCTOR.newInstance(constructorArgs);
+    }
+
+    @Benchmark
+    public Leaf newInstanceHandle() throws Throwable {
+        return (Leaf) CONSTRUCTOR_HANDLE.invokeExact(a, name);
+    }
+
+    @Benchmark
+    public Leaf newInstanceFactory() {
+        return FACTORY.create2(constructorArgs[0], constructorArgs[1]);
+    }
+
+    @Benchmark
+    public Leaf newInstanceZReflex() {
+        return ZReflectionTool.newInstance(Leaf.class, constructorArgs);
+    }
+
+    @Benchmark
+    public Leaf newInstanceExactZReflex() {
+        return ZReflectionTool.newInstanceExact(Leaf.class, CONSTRUCTOR_TYPES, constructorArgs);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BatchResult invokeAll(Batch batch) {
+        return ZReflectionTool.invokeAll(batch.targets, "add", batch.options, 3, 4);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Batch {
+
+        @Param({ "1", "2", "4", "8" })
+        public int parallelism;
+
+        @Param({ "256", "4096" })
+        public int chunkSize;
+
+        private final List<Leaf> targets = new ArrayList<>();
+        private ForkJoinPool pool;
+        private BatchOptions options;
+
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < 65_536; i++) {
+                targets.add(new Leaf(i, "batch"));
+            }
+            pool = new ForkJoinPool(parallelism);
+            options = BatchOptions.parallel(pool, chunkSize);
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+}
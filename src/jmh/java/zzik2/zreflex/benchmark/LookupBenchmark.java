@@ -0,0 +1,83 @@
+package zzik2.zreflex.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zzik2.zreflex.benchmark.Fixtures.Leaf;
+import zzik2.zreflex.reflection.ZReflectionTool;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeated member lookups through {@link ZReflectionTool}, for members on a far superclass and for members that
+ * do not exist, against walking the hierarchy with {@code getDeclaredField}/{@code getDeclaredMethod}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Benchmark
+    public Field findDeepFieldWalk() {
+        return walkField(Leaf.class, "rootCount");
+    }
+
+    @Benchmark
+    public Field findDeepFieldZReflex() {
+        return ZReflectionTool.findField(Leaf.class, "rootCount");
+    }
+
+    @Benchmark
+    public Field findMissingFieldWalk() {
+        return walkField(Leaf.class, "missing");
+    }
+
+    @Benchmark
+    public Optional<Field> findMissingFieldZReflex() {
+        return ZReflectionTool.findFieldOptional(Leaf.class, "missing");
+    }
+
+    @Benchmark
+    public Method findMissingMethodWalk() {
+        return walkMethod(Leaf.class, "missing", int.class);
+    }
+
+    @Benchmark
+    public Optional<Method> findMissingMethodZReflex() {
+        return ZReflectionTool.findMethodOptional(Leaf.class, "missing", int.class);
+    }
+
+    private static Field walkField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException ignored) {
+                // Keep walking up the hierarchy.
+            }
+        }
+        return null;
+    }
+
+    private static Method walkMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredMethod(name, parameterTypes);
+            } catch (NoSuchMethodException ignored) {
+                // Keep walking up the hierarchy.
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,128 @@
+package zzik2.zreflex.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import zzik2.zreflex.reflection.PersistentMemberIndex;
+import zzik2.zreflex.reflection.ZReflectionTool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The first lookups on freshly loaded classes, as on a new launch, with and without a {@link PersistentMemberIndex}
+ * recorded by an earlier run under the same fingerprint. Every invocation defines new copies of the {@link Fixtures}
+ * hierarchy, so no member cache is warm; {@code defineOnly} measures that definition alone. Opening the index, which a
+ * launch does once, is measured on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistentIndexBenchmark {
+
+    private static final String PREFIX = Fixtures.class.getName();
+    private static final String FINGERPRINT = "benchmark";
+
+    private final Map<String, byte[]> classFiles = new HashMap<>();
+    private Path file;
+    private PersistentMemberIndex index;
+
+    @Setup
+    public void record() throws IOException, ClassNotFoundException {
+        for (Class<?> type : Fixtures.class.getDeclaredClasses()) {
+            classFiles.put(type.getName(), read(type));
+        }
+        classFiles.put(PREFIX, read(Fixtures.class));
+        file = Files.createTempFile("zreflex", ".idx");
+        PersistentMemberIndex recording = PersistentMemberIndex.open(file, FINGERPRINT);
+        ZReflectionTool.usePersistentIndex(recording);
+        lookUp(freshLeaf(), null);
+        ZReflectionTool.usePersistentIndex(null);
+        recording.save();
+        index = PersistentMemberIndex.open(file, FINGERPRINT);
+    }
+
+    @TearDown
+    public void delete() throws IOException {
+        ZReflectionTool.usePersistentIndex(null);
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Class<?> defineOnly() throws ClassNotFoundException {
+        return freshLeaf();
+    }
+
+    @Benchmark
+    public void coldLookups(Blackhole blackhole) throws ClassNotFoundException {
+        ZReflectionTool.usePersistentIndex(null);
+        lookUp(freshLeaf(), blackhole);
+    }
+
+    @Benchmark
+    public void coldLookupsIndexed(Blackhole blackhole) throws ClassNotFoundException {
+        ZReflectionTool.usePersistentIndex(index);
+        lookUp(freshLeaf(), blackhole);
+    }
+
+    @Benchmark
+    public PersistentMemberIndex openIndex() throws IOException {
+        return PersistentMemberIndex.open(file, FINGERPRINT);
+    }
+
+    private static void lookUp(Class<?> leaf, Blackhole blackhole) {
+        Object[] results = {
+                ZReflectionTool.findField(leaf, "rootCount"),
+                ZReflectionTool.findMethod(leaf, "describeRoot"),
+                ZReflectionTool.findMethod(leaf, "add", Integer.class, Integer.class),
+                ZReflectionTool.findConstructor(leaf, Integer.class, String.class),
+                ZReflectionTool.findFieldOptional(leaf, "missing"),
+                ZReflectionTool.findMethodOptional(leaf, "missing", int.class)
+        };
+        if (blackhole != null) {
+            blackhole.consume(results);
+        }
+    }
+
+    private Class<?> freshLeaf() throws ClassNotFoundException {
+        return Class.forName(Fixtures.Leaf.class.getName(), false, new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                byte[] bytes = classFiles.get(name);
+                if (bytes == null) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    return loaded != null ? loaded : defineClass(name, bytes, 0, bytes.length);
+                }
+            }
+        });
+    }
+
+    private static byte[] read(Class<?> type) {
+        try (InputStream in = type.getResourceAsStream("/" + type.getName().replace('.', '/') + ".class")) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package zzik2.zreflex.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zzik2.zreflex.benchmark.Fixtures.Greeter;
+import zzik2.zreflex.reflection.ProxyHandler;
+import zzik2.zreflex.reflection.ZReflectionTool;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating and calling proxies from {@link ZReflectionTool#createProxy(Class, ProxyHandler)},
+ * {@link ZReflectionTool#createDelegateProxy(Class, Object)} and
+ * {@link ZReflectionTool#createProxy(Class, InvocationHandler)}, against a lambda and {@link MethodHandleProxies}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyBenchmark {
+
+    private static final MethodHandle GREET;
+
+    static {
+        try {
+            GREET = MethodHandles.lookup().findStatic(ProxyBenchmark.class, "greet",
+                    MethodType.methodType(String.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ProxyHandler proxyHandler = method -> GREET;
+    private final InvocationHandler invocationHandler = (proxy, method, args) -> greet((String) args[0]);
+
+    private Greeter lambda;
+    private Greeter generated;
+    private Greeter delegate;
+    private GreeterImpl greeter;
+    private Greeter jdkProxy;
+    private Greeter handleProxy;
+    private String name;
+
+    @Setup
+    public void setUp() {
+        lambda = ProxyBenchmark::greet;
+        generated = ZReflectionTool.createProxy(Greeter.class, proxyHandler);
+        greeter = new GreeterImpl();
+        delegate = ZReflectionTool.createDelegateProxy(Greeter.class, greeter);
+        jdkProxy = ZReflectionTool.createProxy(Greeter.class, invocationHandler);
+        handleProxy = MethodHandleProxies.asInterfaceInstance(Greeter.class, GREET);
+        name = "world";
+    }
+
+    private static String greet(String name) {
+        return name;
+    }
+
+    @Benchmark
+    public Greeter createLambda() {
+        return ProxyBenchmark::greet;
+    }
+
+    @Benchmark
+    public Greeter createGeneratedProxy() {
+        return ZReflectionTool.createProxy(Greeter.class, proxyHandler);
+    }
+
+    @Benchmark
+    public Greeter createDelegateProxy() {
+        return ZReflectionTool.createDelegateProxy(Greeter.class, greeter);
+    }
+
+    @Benchmark
+    public Greeter createJdkProxy() {
+        return ZReflectionTool.createProxy(Greeter.class, invocationHandler);
+    }
+
+    @Benchmark
+    public Greeter createHandleProxy() {
+        return MethodHandleProxies.asInterfaceInstance(Greeter.class, GREET);
+    }
+
+    @Benchmark
+    public String callLambda() {
+        return lambda.greet(name);
+    }
+
+    @Benchmark
+    public String callGeneratedProxy() {
+        return generated.greet(name);
+    }
+
+    @Benchmark
+    public String callDelegateProxy() {
+        return delegate.greet(name);
+    }
+
+    @Benchmark
+    public String callJdkProxy() {
+        return jdkProxy.greet(name);
+    }
+
+    @Benchmark
+    public String callHandleProxy() {
+        return handleProxy.greet(name);
+    }
+
+    static final class GreeterImpl {
+        String greet(String name) {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package zzik2.zreflex.benchmark;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds mixin targets shaped like large game classes: {@code members} fields and methods split evenly, every
+ * member carrying the {@code @MixinMerged} marker that mixin adds to merged members, and every
+ * {@code annotationInterval}-th member additionally annotated with {@code @ModifyAccess} or {@code @ModifyName}.
+ */
+final class SyntheticClassNodes {
+
+    static final String MODIFY_ACCESS = "Lzzik2/zreflex/mixin/ModifyAccess;";
+    static final String MODIFY_NAME = "Lzzik2/zreflex/mixin/ModifyName;";
+    static final String MIXIN_MERGED = "Lorg/spongepowered/asm/mixin/transformer/meta/MixinMerged;";
+
+    private SyntheticClassNodes() {
+    }
+
+    static ClassNode build(String name, int members, int annotationInterval) {
+        ClassNode classNode = new ClassNode();
+        classNode.version = Opcodes.V11;
+        classNode.access = Opcodes.ACC_PUBLIC;
+        classNode.name = name;
+        classNode.superName = "java/lang/Object";
+        for (int i = 0; i < members; i++) {
+            boolean annotated = annotationInterval > 0 && i % annotationInterval == 0;
+            if (i % 2 == 0) {
+                FieldNode field = new FieldNode(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "field" + i, "I", null, null);
+                field.invisibleAnnotations = annotations(annotated, i);
+                classNode.fields.add(field);
+            } else {
+                MethodNode method = new MethodNode(Opcodes.ACC_PRIVATE, "method" + i, "()V", null, null);
+                method.invisibleAnnotations = annotations(annotated, i);
+                classNode.methods.add(method);
+            }
+        }
+        return classNode;
+    }
+
+    private static List<AnnotationNode> annotations(boolean annotated, int index) {
+        List<AnnotationNode> annotations = new ArrayList<>(2);
+        AnnotationNode merged = new AnnotationNode(MIXIN_MERGED);
+        merged.values = new ArrayList<>(List.of("mixin", "zzik2.zreflex.benchmark.mixin.Mixin" + index % 32));
+        annotations.add(merged);
+        if (annotated) {
+            AnnotationNode modify;
+            if (index % 4 < 2) {
+                modify = new AnnotationNode(MODIFY_ACCESS);
+                modify.values = new ArrayList<>(List.of("access", List.of(Opcodes.ACC_PUBLIC), "removeFinal", true));
+            } else {
+                modify = new AnnotationNode(MODIFY_NAME);
+                modify.values = new ArrayList<>(List.of("value", "renamed" + index, "remap", true));
+            }
+            annotations.add(modify);
+        }
+        return annotations;
+    }
+}
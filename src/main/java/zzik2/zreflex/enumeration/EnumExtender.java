@@ -0,0 +1,100 @@
+package zzik2.zreflex.enumeration;
+
+import zzik2.zreflex.enumeration.ZEnumTool.EnumException;
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.metrics.EnumMutationEvent;
+import zzik2.zreflex.metrics.ZReflexMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects enum constants declared by name and constructor arguments and adds them all in one step.
+ *
+ * <p>
+ * {@link #commit()} assigns ordinals in declaration order after the current constants, creates every instance, and
+ * only then swaps the values array and invalidates the {@code valueOf}/{@code getEnumConstants} caches, once for the
+ * whole batch. Adding N constants therefore copies the values array once instead of N times, and a failing
+ * constructor or a duplicate name leaves the enum untouched. Obtain an extender through
+ * {@link ZEnumTool#extend(Class)}; it can be reused after a commit.
+ * </p>
+ */
+public final class EnumExtender<E extends Enum<E>> {
+
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+
+    private final Class<E> enumType;
+    private final List<Declaration> declarations = new ArrayList<>();
+
+    EnumExtender(Class<E> enumType) {
+        this.enumType = enumType;
+    }
+
+    public Class<E> getEnumType() {
+        return enumType;
+    }
+
+    public EnumExtender<E> add(String constantName) {
+        return add(constantName, NO_TYPES);
+    }
+
+    public EnumExtender<E> add(String constantName, Class<?>[] parameterTypes, Object... constructorArgs) {
+        ZEnumTool.validateConstantName(constantName);
+        declarations.add(new Declaration(constantName, parameterTypes.clone(), constructorArgs.clone()));
+        return this;
+    }
+
+    public int size() {
+        return declarations.size();
+    }
+
+    public List<E> commit() {
+        if (declarations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        EnumMutationEvent event = ZReflexMetrics.isRecording() ? EnumMutationEvent.start() : null;
+        UnsafeAccess.initializeClass(enumType);
+
+        E[] currentValues = ZEnumTool.getEnumValuesArray(enumType);
+        checkNames(currentValues);
+        E[] expandedValues = Arrays.copyOf(currentValues, currentValues.length + declarations.size());
+        for (int i = 0; i < declarations.size(); i++) {
+            Declaration declaration = declarations.get(i);
+            int ordinal = currentValues.length + i;
+            expandedValues[ordinal] = ZEnumTool.createInstance(enumType, declaration.name, ordinal,
+                    declaration.parameterTypes, declaration.constructorArgs);
+        }
+        ZEnumTool.publishValues(enumType, expandedValues, declarations.size(), event);
+        declarations.clear();
+
+        return List.of(Arrays.copyOfRange(expandedValues, currentValues.length, expandedValues.length));
+    }
+
+    private void checkNames(E[] currentValues) {
+        Set<String> names = new HashSet<>();
+        for (E constant : currentValues) {
+            names.add(constant.name());
+        }
+        for (Declaration declaration : declarations) {
+            if (!names.add(declaration.name)) {
+                throw new EnumException("Duplicate enum constant: " + declaration.name + " in " + enumType.getName());
+            }
+        }
+    }
+
+    private static final class Declaration {
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final Object[] constructorArgs;
+
+        Declaration(String name, Class<?>[] parameterTypes, Object[] constructorArgs) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.constructorArgs = constructorArgs;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package zzik2.zreflex.enumeration;
+
+import zzik2.zreflex.enumeration.ZEnumTool.EnumException;
+import zzik2.zreflex.internal.UnsafeAccess;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-enum cache of what {@link ZEnumTool} needs to mutate an enum: the location of its values array and its
+ * constructor handles.
+ *
+ * <p>
+ * The values field is located and turned into an Unsafe base and offset once per enum type, and each constructor is
+ * resolved once per parameter type list and stored as a spreading handle, so repeated mutations and instance
+ * creation skip field scans, constructor lookup and {@code invokeWithArguments} argument adaptation.
+ * </p>
+ */
+final class EnumMetadata {
+
+    private static final String[] VALUES_FIELD_NAMES = { "$VALUES", "ENUM$VALUES" };
+
+    private static final ClassValue<EnumMetadata> METADATA = new ClassValue<EnumMetadata>() {
+        @Override
+        protected EnumMetadata computeValue(Class<?> type) {
+            return new EnumMetadata(type);
+        }
+    };
+
+    private final Class<?> enumType;
+    private final Object valuesBase;
+    private final long valuesOffset;
+    private final ConcurrentHashMap<List<Class<?>>, MethodHandle> constructors = new ConcurrentHashMap<>();
+
+    private EnumMetadata(Class<?> enumType) {
+        Field valuesField = findValuesField(enumType);
+        this.enumType = enumType;
+        this.valuesBase = UnsafeAccess.getStaticFieldBase(valuesField);
+        this.valuesOffset = UnsafeAccess.getStaticFieldOffset(valuesField);
+    }
+
+    static EnumMetadata of(Class<?> enumType) {
+        return METADATA.get(enumType);
+    }
+
+    Object[] getValues() {
+        return (Object[]) UnsafeAccess.getObjectField(valuesBase, valuesOffset);
+    }
+
+    void setValues(Object[] values) {
+        UnsafeAccess.putObjectField(valuesBase, valuesOffset, values);
+    }
+
+    // Returns a handle taking (name, ordinal, constructorArgs...) as one Object[] and returning the new constant.
+    MethodHandle constructor(Class<?>[] parameterTypes) throws ReflectiveOperationException {
+        MethodHandle constructor = constructors.get(Arrays.asList(parameterTypes));
+        if (constructor == null) {
+            Class<?>[] fullTypes = new Class<?>[parameterTypes.length + 2];
+            fullTypes[0] = String.class;
+            fullTypes[1] = int.class;
+            System.arraycopy(parameterTypes, 0, fullTypes, 2, parameterTypes.length);
+            MethodHandle handle = UnsafeAccess.trustedLookup().findConstructor(enumType,
+                    MethodType.methodType(void.class, fullTypes));
+            constructor = handle.asType(handle.type().generic()).asSpreader(Object[].class, fullTypes.length);
+            MethodHandle previous = constructors.putIfAbsent(List.of(parameterTypes.clone()), constructor);
+            if (previous != null) {
+                constructor = previous;
+            }
+        }
+        return constructor;
+    }
+
+    private static Field findValuesField(Class<?> enumType) {
+        for (String candidateName : VALUES_FIELD_NAMES) {
+            try {
+                return enumType.getDeclaredField(candidateName);
+            } catch (NoSuchFieldException ignored) {
+            }
+        }
+        for (Field field : enumType.getDeclaredFields()) {
+            if (field.getType().isArray() && field.getType().getComponentType() == enumType
+                    && Modifier.isStatic(field.getModifiers())) {
+                return field;
+            }
+        }
+        throw new EnumException("Cannot locate values field in enum: " + enumType.getName());
+    }
+}
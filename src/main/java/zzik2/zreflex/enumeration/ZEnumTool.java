@@ -1,13 +1,12 @@
 package zzik2.zreflex.enumeration;
 
 import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.metrics.EnumMutationEvent;
+import zzik2.zreflex.metrics.ZReflexMetrics;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -20,7 +19,6 @@ import java.util.List;
  */
 public final class ZEnumTool {
 
-    private static final String[] ENUM_VALUES_FIELD_NAMES = { "$VALUES", "ENUM$VALUES" };
     private static final long[] ENUM_CACHE_FIELD_OFFSETS;
 
     static {
@@ -39,6 +37,7 @@ public final class ZEnumTool {
             Object... constructorArgs) {
         validateEnumType(enumType);
         validateConstantName(constantName);
+        EnumMutationEvent event = ZReflexMetrics.isRecording() ? EnumMutationEvent.start() : null;
         UnsafeAccess.initializeClass(enumType);
 
         E[] currentValues = getEnumValuesArray(enumType);
@@ -47,8 +46,7 @@ public final class ZEnumTool {
         E newConstant = createInstance(enumType, constantName, nextOrdinal, parameterTypes, constructorArgs);
 
         E[] expandedValues = expandArray(currentValues, newConstant);
-        replaceEnumValuesArray(enumType, expandedValues);
-        invalidateEnumCache(enumType);
+        publishValues(enumType, expandedValues, 1, event);
 
         return newConstant;
     }
@@ -58,12 +56,17 @@ public final class ZEnumTool {
         if (constants == null || constants.isEmpty()) {
             return;
         }
+        EnumMutationEvent event = ZReflexMetrics.isRecording() ? EnumMutationEvent.start() : null;
         UnsafeAccess.initializeClass(enumType);
 
         E[] currentValues = getEnumValuesArray(enumType);
         E[] expandedValues = expandArray(currentValues, constants);
-        replaceEnumValuesArray(enumType, expandedValues);
-        invalidateEnumCache(enumType);
+        publishValues(enumType, expandedValues, constants.size(), event);
+    }
+
+    public static <E extends Enum<E>> EnumExtender<E> extend(Class<E> enumType) {
+        validateEnumType(enumType);
+        return new EnumExtender<>(enumType);
     }
 
     public static <E extends Enum<E>> E createInstance(Class<E> enumType, String name, int ordinal) {
@@ -76,48 +79,35 @@ public final class ZEnumTool {
         UnsafeAccess.initializeClass(enumType);
 
         try {
-            List<Class<?>> fullParamTypes = buildConstructorParameterTypes(parameterTypes);
-            MethodType constructorType = MethodType.methodType(void.class, fullParamTypes);
-            MethodHandle constructorHandle = UnsafeAccess.trustedLookup().findConstructor(enumType, constructorType);
-
-            List<Object> fullArgs = buildConstructorArguments(name, ordinal, constructorArgs);
-            @SuppressWarnings("unchecked")
-            E instance = (E) constructorHandle.invokeWithArguments(fullArgs);
-            return instance;
+            Object[] fullArgs = new Object[constructorArgs.length + 2];
+            fullArgs[0] = name;
+            fullArgs[1] = ordinal;
+            System.arraycopy(constructorArgs, 0, fullArgs, 2, constructorArgs.length);
+            Object instance = EnumMetadata.of(enumType).constructor(parameterTypes).invokeExact(fullArgs);
+            return enumType.cast(instance);
         } catch (Throwable e) {
             throw new EnumException("Failed to create enum instance: " + name, e);
         }
     }
 
     @SuppressWarnings("unchecked")
-    private static <E extends Enum<E>> E[] getEnumValuesArray(Class<E> enumType) {
-        Field valuesField = findValuesField(enumType);
-        Object fieldBase = UnsafeAccess.getStaticFieldBase(valuesField);
-        long fieldOffset = UnsafeAccess.getStaticFieldOffset(valuesField);
-        return (E[]) UnsafeAccess.getObjectField(fieldBase, fieldOffset);
+    static <E extends Enum<E>> E[] getEnumValuesArray(Class<E> enumType) {
+        return (E[]) EnumMetadata.of(enumType).getValues();
     }
 
-    private static <E extends Enum<E>> void replaceEnumValuesArray(Class<E> enumType, E[] newValues) {
-        Field valuesField = findValuesField(enumType);
-        Object fieldBase = UnsafeAccess.getStaticFieldBase(valuesField);
-        long fieldOffset = UnsafeAccess.getStaticFieldOffset(valuesField);
-        UnsafeAccess.putObjectField(fieldBase, fieldOffset, newValues);
+    static <E extends Enum<E>> void publishValues(Class<E> enumType, E[] newValues, int added,
+            EnumMutationEvent event) {
+        replaceEnumValuesArray(enumType, newValues);
+        long invalidationStart = System.nanoTime();
+        invalidateEnumCache(enumType);
+        if (event != null) {
+            event.complete(enumType, added, newValues.length, System.nanoTime() - invalidationStart);
+        }
+        ZReflexMetrics.recordEnumMutation(added);
     }
 
-    private static <E extends Enum<E>> Field findValuesField(Class<E> enumType) {
-        for (String candidateName : ENUM_VALUES_FIELD_NAMES) {
-            try {
-                return enumType.getDeclaredField(candidateName);
-            } catch (NoSuchFieldException ignored) {
-            }
-        }
-        for (Field field : enumType.getDeclaredFields()) {
-            if (field.getType().isArray() && field.getType().getComponentType() == enumType
-                    && java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-                return field;
-            }
-        }
-        throw new EnumException("Cannot locate values field in enum: " + enumType.getName());
+    private static <E extends Enum<E>> void replaceEnumValuesArray(Class<E> enumType, E[] newValues) {
+        EnumMetadata.of(enumType).setValues(newValues);
     }
 
     @SuppressWarnings("unchecked")
@@ -140,22 +130,6 @@ public final class ZEnumTool {
         return expanded;
     }
 
-    private static List<Class<?>> buildConstructorParameterTypes(Class<?>[] additionalTypes) {
-        List<Class<?>> types = new ArrayList<>(2 + additionalTypes.length);
-        types.add(String.class);
-        types.add(int.class);
-        types.addAll(Arrays.asList(additionalTypes));
-        return types;
-    }
-
-    private static List<Object> buildConstructorArguments(String name, int ordinal, Object[] additionalArgs) {
-        List<Object> args = new ArrayList<>(2 + additionalArgs.length);
-        args.add(name);
-        args.add(ordinal);
-        args.addAll(Arrays.asList(additionalArgs));
-        return args;
-    }
-
     private static long[] discoverEnumCacheOffsets() {
         String[] cacheFieldCandidates = { "enumConstantDirectory", "enumConstants", "enumVars" };
         List<Long> foundOffsets = new ArrayList<>();
@@ -194,7 +168,7 @@ public final class ZEnumTool {
         }
     }
 
-    private static void validateConstantName(String name) {
+    static void validateConstantName(String name) {
         if (name == null || name.isEmpty()) {
             throw new EnumException("Constant name cannot be null or empty");
         }
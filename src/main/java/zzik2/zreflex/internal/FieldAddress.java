@@ -0,0 +1,305 @@
+package zzik2.zreflex.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * The {@code (base, offset)} pair of a field, resolved once, for offset-based access through {@link UnsafeAccess}.
+ *
+ * <p>
+ * For static fields the base is the static field base and the target passed to each operation is ignored; for
+ * instance fields the target object is the base and must be a non-null instance of the declaring class. Each
+ * operation must match the declared field type, and stored references must be assignable to it, so a mismatched call
+ * fails instead of writing the wrong width or type into the object. The raw offset stays within this package.
+ * </p>
+ */
+public final class FieldAddress {
+
+    private final Field field;
+    private final Class<?> declaringClass;
+    private final Object staticBase;
+    private final long offset;
+    private final Class<?> type;
+
+    FieldAddress(Field field) {
+        this.field = field;
+        this.declaringClass = field.getDeclaringClass();
+        this.type = field.getType();
+        if (Modifier.isStatic(field.getModifiers())) {
+            this.staticBase = UnsafeAccess.getStaticFieldBase(field);
+            this.offset = UnsafeAccess.getStaticFieldOffset(field);
+        } else {
+            this.staticBase = null;
+            this.offset = UnsafeAccess.getInstanceFieldOffset(field);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public int getInt(Object target) {
+        checkKind(int.class);
+        return UnsafeAccess.getIntField(base(target), offset);
+    }
+
+    public void putInt(Object target, int value) {
+        checkKind(int.class);
+        UnsafeAccess.putIntField(base(target), offset, value);
+    }
+
+    public int getIntVolatile(Object target) {
+        checkKind(int.class);
+        return UnsafeAccess.getIntFieldVolatile(base(target), offset);
+    }
+
+    public void putIntVolatile(Object target, int value) {
+        checkKind(int.class);
+        UnsafeAccess.putIntFieldVolatile(base(target), offset, value);
+    }
+
+    public void putIntOrdered(Object target, int value) {
+        checkKind(int.class);
+        UnsafeAccess.putIntFieldOrdered(base(target), offset, value);
+    }
+
+    public boolean compareAndSetInt(Object target, int expected, int value) {
+        checkKind(int.class);
+        return UnsafeAccess.compareAndSetIntField(base(target), offset, expected, value);
+    }
+
+    public int getAndAddInt(Object target, int delta) {
+        checkKind(int.class);
+        return UnsafeAccess.getAndAddIntField(base(target), offset, delta);
+    }
+
+    public int getAndSetInt(Object target, int value) {
+        checkKind(int.class);
+        return UnsafeAccess.getAndSetIntField(base(target), offset, value);
+    }
+
+    public long getLong(Object target) {
+        checkKind(long.class);
+        return UnsafeAccess.getLongField(base(target), offset);
+    }
+
+    public void putLong(Object target, long value) {
+        checkKind(long.class);
+        UnsafeAccess.putLongField(base(target), offset, value);
+    }
+
+    public long getLongVolatile(Object target) {
+        checkKind(long.class);
+        return UnsafeAccess.getLongFieldVolatile(base(target), offset);
+    }
+
+    public void putLongVolatile(Object target, long value) {
+        checkKind(long.class);
+        UnsafeAccess.putLongFieldVolatile(base(target), offset, value);
+    }
+
+    public void putLongOrdered(Object target, long value) {
+        checkKind(long.class);
+        UnsafeAccess.putLongFieldOrdered(base(target), offset, value);
+    }
+
+    public boolean compareAndSetLong(Object target, long expected, long value) {
+        checkKind(long.class);
+        return UnsafeAccess.compareAndSetLongField(base(target), offset, expected, value);
+    }
+
+    public long getAndAddLong(Object target, long delta) {
+        checkKind(long.class);
+        return UnsafeAccess.getAndAddLongField(base(target), offset, delta);
+    }
+
+    public long getAndSetLong(Object target, long value) {
+        checkKind(long.class);
+        return UnsafeAccess.getAndSetLongField(base(target), offset, value);
+    }
+
+    public float getFloat(Object target) {
+        checkKind(float.class);
+        return UnsafeAccess.getFloatField(base(target), offset);
+    }
+
+    public void putFloat(Object target, float value) {
+        checkKind(float.class);
+        UnsafeAccess.putFloatField(base(target), offset, value);
+    }
+
+    public float getFloatVolatile(Object target) {
+        checkKind(float.class);
+        return UnsafeAccess.getFloatFieldVolatile(base(target), offset);
+    }
+
+    public void putFloatVolatile(Object target, float value) {
+        checkKind(float.class);
+        UnsafeAccess.putFloatFieldVolatile(base(target), offset, value);
+    }
+
+    public double getDouble(Object target) {
+        checkKind(double.class);
+        return UnsafeAccess.getDoubleField(base(target), offset);
+    }
+
+    public void putDouble(Object target, double value) {
+        checkKind(double.class);
+        UnsafeAccess.putDoubleField(base(target), offset, value);
+    }
+
+    public double getDoubleVolatile(Object target) {
+        checkKind(double.class);
+        return UnsafeAccess.getDoubleFieldVolatile(base(target), offset);
+    }
+
+    public void putDoubleVolatile(Object target, double value) {
+        checkKind(double.class);
+        UnsafeAccess.putDoubleFieldVolatile(base(target), offset, value);
+    }
+
+    public boolean getBoolean(Object target) {
+        checkKind(boolean.class);
+        return UnsafeAccess.getBooleanField(base(target), offset);
+    }
+
+    public void putBoolean(Object target, boolean value) {
+        checkKind(boolean.class);
+        UnsafeAccess.putBooleanField(base(target), offset, value);
+    }
+
+    public boolean getBooleanVolatile(Object target) {
+        checkKind(boolean.class);
+        return UnsafeAccess.getBooleanFieldVolatile(base(target), offset);
+    }
+
+    public void putBooleanVolatile(Object target, boolean value) {
+        checkKind(boolean.class);
+        UnsafeAccess.putBooleanFieldVolatile(base(target), offset, value);
+    }
+
+    public byte getByte(Object target) {
+        checkKind(byte.class);
+        return UnsafeAccess.getByteField(base(target), offset);
+    }
+
+    public void putByte(Object target, byte value) {
+        checkKind(byte.class);
+        UnsafeAccess.putByteField(base(target), offset, value);
+    }
+
+    public byte getByteVolatile(Object target) {
+        checkKind(byte.class);
+        return UnsafeAccess.getByteFieldVolatile(base(target), offset);
+    }
+
+    public void putByteVolatile(Object target, byte value) {
+        checkKind(byte.class);
+        UnsafeAccess.putByteFieldVolatile(base(target), offset, value);
+    }
+
+    public short getShort(Object target) {
+        checkKind(short.class);
+        return UnsafeAccess.getShortField(base(target), offset);
+    }
+
+    public void putShort(Object target, short value) {
+        checkKind(short.class);
+        UnsafeAccess.putShortField(base(target), offset, value);
+    }
+
+    public short getShortVolatile(Object target) {
+        checkKind(short.class);
+        return UnsafeAccess.getShortFieldVolatile(base(target), offset);
+    }
+
+    public void putShortVolatile(Object target, short value) {
+        checkKind(short.class);
+        UnsafeAccess.putShortFieldVolatile(base(target), offset, value);
+    }
+
+    public char getChar(Object target) {
+        checkKind(char.class);
+        return UnsafeAccess.getCharField(base(target), offset);
+    }
+
+    public void putChar(Object target, char value) {
+        checkKind(char.class);
+        UnsafeAccess.putCharField(base(target), offset, value);
+    }
+
+    public char getCharVolatile(Object target) {
+        checkKind(char.class);
+        return UnsafeAccess.getCharFieldVolatile(base(target), offset);
+    }
+
+    public void putCharVolatile(Object target, char value) {
+        checkKind(char.class);
+        UnsafeAccess.putCharFieldVolatile(base(target), offset, value);
+    }
+
+    public Object getObject(Object target) {
+        checkReference();
+        return UnsafeAccess.getObjectField(base(target), offset);
+    }
+
+    public void putObject(Object target, Object value) {
+        checkValue(value);
+        UnsafeAccess.putObjectField(base(target), offset, value);
+    }
+
+    public Object getObjectVolatile(Object target) {
+        checkReference();
+        return UnsafeAccess.getObjectFieldVolatile(base(target), offset);
+    }
+
+    public void putObjectVolatile(Object target, Object value) {
+        checkValue(value);
+        UnsafeAccess.putObjectFieldVolatile(base(target), offset, value);
+    }
+
+    public void putObjectOrdered(Object target, Object value) {
+        checkValue(value);
+        UnsafeAccess.putObjectFieldOrdered(base(target), offset, value);
+    }
+
+    public boolean compareAndSetObject(Object target, Object expected, Object value) {
+        checkValue(value);
+        return UnsafeAccess.compareAndSetObjectField(base(target), offset, expected, value);
+    }
+
+    public Object getAndSetObject(Object target, Object value) {
+        checkValue(value);
+        return UnsafeAccess.getAndSetObjectField(base(target), offset, value);
+    }
+
+    private void checkKind(Class<?> kind) {
+        if (type != kind) {
+            throw new IllegalStateException("Cannot access " + type.getName() + " field " + field.getName()
+                    + " as " + kind.getName());
+        }
+    }
+
+    private void checkReference() {
+        if (type.isPrimitive()) {
+            throw new IllegalStateException("Cannot access " + type.getName() + " field " + field.getName()
+                    + " as an object");
+        }
+    }
+
+    private void checkValue(Object value) {
+        checkReference();
+        if (value != null && !type.isInstance(value)) {
+            throw new ClassCastException("Cannot store " + value.getClass().getName() + " in " + type.getName()
+                    + " field " + field.getName());
+        }
+    }
+
+    private Object base(Object target) {
+        if (staticBase != null) {
+            return staticBase;
+        }
+        return declaringClass.cast(Objects.requireNonNull(target, "target"));
+    }
+}
@@ -1,13 +1,70 @@
 package zzik2.zreflex.internal;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 
 public final class UnsafeAccess {
 
     private static final Object UNSAFE;
     private static final MethodHandles.Lookup TRUSTED_LOOKUP;
 
+    private static final MethodHandle ENSURE_CLASS_INITIALIZED;
+    private static final MethodHandle STATIC_FIELD_BASE;
+    private static final MethodHandle STATIC_FIELD_OFFSET;
+    private static final MethodHandle OBJECT_FIELD_OFFSET;
+    private static final MethodHandle ALLOCATE_INSTANCE;
+    private static final MethodHandle INVOKE_CLEANER;
+    private static final MethodHandle GET_OBJECT;
+    private static final MethodHandle PUT_OBJECT;
+    private static final MethodHandle PUT_OBJECT_VOLATILE;
+    private static final MethodHandle GET_INT;
+    private static final MethodHandle PUT_INT;
+    private static final MethodHandle GET_INT_VOLATILE;
+    private static final MethodHandle PUT_INT_VOLATILE;
+    private static final MethodHandle PUT_ORDERED_INT;
+    private static final MethodHandle COMPARE_AND_SWAP_INT;
+    private static final MethodHandle GET_AND_ADD_INT;
+    private static final MethodHandle GET_AND_SET_INT;
+    private static final MethodHandle GET_LONG;
+    private static final MethodHandle PUT_LONG;
+    private static final MethodHandle GET_LONG_VOLATILE;
+    private static final MethodHandle PUT_LONG_VOLATILE;
+    private static final MethodHandle PUT_ORDERED_LONG;
+    private static final MethodHandle COMPARE_AND_SWAP_LONG;
+    private static final MethodHandle GET_AND_ADD_LONG;
+    private static final MethodHandle GET_AND_SET_LONG;
+    private static final MethodHandle GET_FLOAT;
+    private static final MethodHandle PUT_FLOAT;
+    private static final MethodHandle GET_FLOAT_VOLATILE;
+    private static final MethodHandle PUT_FLOAT_VOLATILE;
+    private static final MethodHandle GET_DOUBLE;
+    private static final MethodHandle PUT_DOUBLE;
+    private static final MethodHandle GET_DOUBLE_VOLATILE;
+    private static final MethodHandle PUT_DOUBLE_VOLATILE;
+    private static final MethodHandle GET_BOOLEAN;
+    private static final MethodHandle PUT_BOOLEAN;
+    private static final MethodHandle GET_BOOLEAN_VOLATILE;
+    private static final MethodHandle PUT_BOOLEAN_VOLATILE;
+    private static final MethodHandle GET_BYTE;
+    private static final MethodHandle PUT_BYTE;
+    private static final MethodHandle GET_BYTE_VOLATILE;
+    private static final MethodHandle PUT_BYTE_VOLATILE;
+    private static final MethodHandle GET_SHORT;
+    private static final MethodHandle PUT_SHORT;
+    private static final MethodHandle GET_SHORT_VOLATILE;
+    private static final MethodHandle PUT_SHORT_VOLATILE;
+    private static final MethodHandle GET_CHAR;
+    private static final MethodHandle PUT_CHAR;
+    private static final MethodHandle GET_CHAR_VOLATILE;
+    private static final MethodHandle PUT_CHAR_VOLATILE;
+    private static final MethodHandle GET_OBJECT_VOLATILE;
+    private static final MethodHandle PUT_ORDERED_OBJECT;
+    private static final MethodHandle COMPARE_AND_SWAP_OBJECT;
+    private static final MethodHandle GET_AND_SET_OBJECT;
+
     static {
         try {
             Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
@@ -15,6 +72,66 @@ public final class UnsafeAccess {
             theUnsafe.setAccessible(true);
             UNSAFE = theUnsafe.get(null);
 
+            ENSURE_CLASS_INITIALIZED = bindEnsureClassInitialized();
+            STATIC_FIELD_BASE = bind("staticFieldBase", Object.class, Field.class);
+            STATIC_FIELD_OFFSET = bind("staticFieldOffset", long.class, Field.class);
+            OBJECT_FIELD_OFFSET = bind("objectFieldOffset", long.class, Field.class);
+            GET_OBJECT = bind("getObject", Object.class, Object.class, long.class);
+            PUT_OBJECT = bind("putObject", void.class, Object.class, long.class, Object.class);
+            PUT_OBJECT_VOLATILE = bind("putObjectVolatile", void.class, Object.class, long.class, Object.class);
+            // Operations beyond the original object accessors are optional: a runtime that lacks or restricts one
+            // of them gets a handle that throws when called, rather than a class that fails to initialize.
+            ALLOCATE_INSTANCE = bindOptional("allocateInstance", Object.class, Class.class);
+            INVOKE_CLEANER = bindOptional("invokeCleaner", void.class, ByteBuffer.class);
+            GET_INT = bindOptional("getInt", int.class, Object.class, long.class);
+            PUT_INT = bindOptional("putInt", void.class, Object.class, long.class, int.class);
+            GET_INT_VOLATILE = bindOptional("getIntVolatile", int.class, Object.class, long.class);
+            PUT_INT_VOLATILE = bindOptional("putIntVolatile", void.class, Object.class, long.class, int.class);
+            PUT_ORDERED_INT = bindOptional("putOrderedInt", void.class, Object.class, long.class, int.class);
+            COMPARE_AND_SWAP_INT = bindOptional("compareAndSwapInt", boolean.class, Object.class, long.class,
+                    int.class, int.class);
+            GET_AND_ADD_INT = bindOptional("getAndAddInt", int.class, Object.class, long.class, int.class);
+            GET_AND_SET_INT = bindOptional("getAndSetInt", int.class, Object.class, long.class, int.class);
+            GET_LONG = bindOptional("getLong", long.class, Object.class, long.class);
+            PUT_LONG = bindOptional("putLong", void.class, Object.class, long.class, long.class);
+            GET_LONG_VOLATILE = bindOptional("getLongVolatile", long.class, Object.class, long.class);
+            PUT_LONG_VOLATILE = bindOptional("putLongVolatile", void.class, Object.class, long.class, long.class);
+            PUT_ORDERED_LONG = bindOptional("putOrderedLong", void.class, Object.class, long.class, long.class);
+            COMPARE_AND_SWAP_LONG = bindOptional("compareAndSwapLong", boolean.class, Object.class, long.class,
+                    long.class, long.class);
+            GET_AND_ADD_LONG = bindOptional("getAndAddLong", long.class, Object.class, long.class, long.class);
+            GET_AND_SET_LONG = bindOptional("getAndSetLong", long.class, Object.class, long.class, long.class);
+            GET_FLOAT = bindOptional("getFloat", float.class, Object.class, long.class);
+            PUT_FLOAT = bindOptional("putFloat", void.class, Object.class, long.class, float.class);
+            GET_FLOAT_VOLATILE = bindOptional("getFloatVolatile", float.class, Object.class, long.class);
+            PUT_FLOAT_VOLATILE = bindOptional("putFloatVolatile", void.class, Object.class, long.class, float.class);
+            GET_DOUBLE = bindOptional("getDouble", double.class, Object.class, long.class);
+            PUT_DOUBLE = bindOptional("putDouble", void.class, Object.class, long.class, double.class);
+            GET_DOUBLE_VOLATILE = bindOptional("getDoubleVolatile", double.class, Object.class, long.class);
+            PUT_DOUBLE_VOLATILE = bindOptional("putDoubleVolatile", void.class, Object.class, long.class, double.class);
+            GET_BOOLEAN = bindOptional("getBoolean", boolean.class, Object.class, long.class);
+            PUT_BOOLEAN = bindOptional("putBoolean", void.class, Object.class, long.class, boolean.class);
+            GET_BOOLEAN_VOLATILE = bindOptional("getBooleanVolatile", boolean.class, Object.class, long.class);
+            PUT_BOOLEAN_VOLATILE = bindOptional("putBooleanVolatile", void.class, Object.class, long.class,
+                    boolean.class);
+            GET_BYTE = bindOptional("getByte", byte.class, Object.class, long.class);
+            PUT_BYTE = bindOptional("putByte", void.class, Object.class, long.class, byte.class);
+            GET_BYTE_VOLATILE = bindOptional("getByteVolatile", byte.class, Object.class, long.class);
+            PUT_BYTE_VOLATILE = bindOptional("putByteVolatile", void.class, Object.class, long.class, byte.class);
+            GET_SHORT = bindOptional("getShort", short.class, Object.class, long.class);
+            PUT_SHORT = bindOptional("putShort", void.class, Object.class, long.class, short.class);
+            GET_SHORT_VOLATILE = bindOptional("getShortVolatile", short.class, Object.class, long.class);
+            PUT_SHORT_VOLATILE = bindOptional("putShortVolatile", void.class, Object.class, long.class, short.class);
+            GET_CHAR = bindOptional("getChar", char.class, Object.class, long.class);
+            PUT_CHAR = bindOptional("putChar", void.class, Object.class, long.class, char.class);
+            GET_CHAR_VOLATILE = bindOptional("getCharVolatile", char.class, Object.class, long.class);
+            PUT_CHAR_VOLATILE = bindOptional("putCharVolatile", void.class, Object.class, long.class, char.class);
+            GET_OBJECT_VOLATILE = bindOptional("getObjectVolatile", Object.class, Object.class, long.class);
+            PUT_ORDERED_OBJECT = bindOptional("putOrderedObject", void.class, Object.class, long.class, Object.class);
+            COMPARE_AND_SWAP_OBJECT = bindOptional("compareAndSwapObject", boolean.class, Object.class, long.class,
+                    Object.class, Object.class);
+            GET_AND_SET_OBJECT = bindOptional("getAndSetObject", Object.class, Object.class, long.class, Object.class);
+
             Field implLookup = MethodHandles.Lookup.class.getDeclaredField("IMPL_LOOKUP");
             TRUSTED_LOOKUP = (MethodHandles.Lookup) getObjectField(MethodHandles.Lookup.class, implLookup);
         } catch (Exception e) {
@@ -32,45 +149,56 @@ public final class UnsafeAccess {
 
     public static void initializeClass(Class<?> clazz) {
         try {
-            java.lang.reflect.Method ensureInit = UNSAFE.getClass().getMethod("ensureClassInitialized", Class.class);
-            ensureInit.invoke(UNSAFE, clazz);
-        } catch (Exception e) {
+            ENSURE_CLASS_INITIALIZED.invokeExact(clazz);
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to initialize class: " + clazz.getName(), e);
         }
     }
 
     public static Object getStaticFieldBase(Field field) {
         try {
-            java.lang.reflect.Method method = UNSAFE.getClass().getMethod("staticFieldBase", Field.class);
-            return method.invoke(UNSAFE, field);
-        } catch (Exception e) {
+            return (Object) STATIC_FIELD_BASE.invokeExact(field);
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to get static field base", e);
         }
     }
 
     public static long getStaticFieldOffset(Field field) {
         try {
-            java.lang.reflect.Method method = UNSAFE.getClass().getMethod("staticFieldOffset", Field.class);
-            return (long) method.invoke(UNSAFE, field);
-        } catch (Exception e) {
+            return (long) STATIC_FIELD_OFFSET.invokeExact(field);
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to get static field offset", e);
         }
     }
 
     public static long getInstanceFieldOffset(Field field) {
         try {
-            java.lang.reflect.Method method = UNSAFE.getClass().getMethod("objectFieldOffset", Field.class);
-            return (long) method.invoke(UNSAFE, field);
-        } catch (Exception e) {
+            return (long) OBJECT_FIELD_OFFSET.invokeExact(field);
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to get instance field offset", e);
         }
     }
 
+    public static Object allocateInstance(Class<?> clazz) {
+        try {
+            return (Object) ALLOCATE_INSTANCE.invokeExact(clazz);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to allocate instance: " + clazz.getName(), e);
+        }
+    }
+
+    public static void invokeCleaner(ByteBuffer directBuffer) {
+        try {
+            INVOKE_CLEANER.invokeExact(directBuffer);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to release direct buffer", e);
+        }
+    }
+
     public static Object getObjectField(Object base, long offset) {
         try {
-            java.lang.reflect.Method method = UNSAFE.getClass().getMethod("getObject", Object.class, long.class);
-            return method.invoke(UNSAFE, base, offset);
-        } catch (Exception e) {
+            return (Object) GET_OBJECT.invokeExact(base, offset);
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to get object field", e);
         }
     }
@@ -81,21 +209,403 @@ public final class UnsafeAccess {
 
     public static void putObjectField(Object base, long offset, Object value) {
         try {
-            java.lang.reflect.Method method = UNSAFE.getClass().getMethod("putObject", Object.class, long.class,
-                    Object.class);
-            method.invoke(UNSAFE, base, offset, value);
-        } catch (Exception e) {
+            PUT_OBJECT.invokeExact(base, offset, value);
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to put object field", e);
         }
     }
 
     public static void putObjectFieldVolatile(Object base, long offset, Object value) {
         try {
-            java.lang.reflect.Method method = UNSAFE.getClass().getMethod("putObjectVolatile", Object.class, long.class,
-                    Object.class);
-            method.invoke(UNSAFE, base, offset, value);
-        } catch (Exception e) {
+            PUT_OBJECT_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to put object field volatile", e);
         }
     }
+
+    public static int getIntField(Object base, long offset) {
+        try {
+            return (int) GET_INT.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get int field", e);
+        }
+    }
+
+    public static void putIntField(Object base, long offset, int value) {
+        try {
+            PUT_INT.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put int field", e);
+        }
+    }
+
+    public static int getIntFieldVolatile(Object base, long offset) {
+        try {
+            return (int) GET_INT_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get int field volatile", e);
+        }
+    }
+
+    public static void putIntFieldVolatile(Object base, long offset, int value) {
+        try {
+            PUT_INT_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put int field volatile", e);
+        }
+    }
+
+    public static void putIntFieldOrdered(Object base, long offset, int value) {
+        try {
+            PUT_ORDERED_INT.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put int field ordered", e);
+        }
+    }
+
+    public static boolean compareAndSetIntField(Object base, long offset, int expected, int value) {
+        try {
+            return (boolean) COMPARE_AND_SWAP_INT.invokeExact(base, offset, expected, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to compare and set int field", e);
+        }
+    }
+
+    public static int getAndAddIntField(Object base, long offset, int delta) {
+        try {
+            return (int) GET_AND_ADD_INT.invokeExact(base, offset, delta);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get and add int field", e);
+        }
+    }
+
+    public static int getAndSetIntField(Object base, long offset, int value) {
+        try {
+            return (int) GET_AND_SET_INT.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get and set int field", e);
+        }
+    }
+
+    public static long getLongField(Object base, long offset) {
+        try {
+            return (long) GET_LONG.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get long field", e);
+        }
+    }
+
+    public static void putLongField(Object base, long offset, long value) {
+        try {
+            PUT_LONG.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put long field", e);
+        }
+    }
+
+    public static long getLongFieldVolatile(Object base, long offset) {
+        try {
+            return (long) GET_LONG_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get long field volatile", e);
+        }
+    }
+
+    public static void putLongFieldVolatile(Object base, long offset, long value) {
+        try {
+            PUT_LONG_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put long field volatile", e);
+        }
+    }
+
+    public static void putLongFieldOrdered(Object base, long offset, long value) {
+        try {
+            PUT_ORDERED_LONG.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put long field ordered", e);
+        }
+    }
+
+    public static boolean compareAndSetLongField(Object base, long offset, long expected, long value) {
+        try {
+            return (boolean) COMPARE_AND_SWAP_LONG.invokeExact(base, offset, expected, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to compare and set long field", e);
+        }
+    }
+
+    public static long getAndAddLongField(Object base, long offset, long delta) {
+        try {
+            return (long) GET_AND_ADD_LONG.invokeExact(base, offset, delta);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get and add long field", e);
+        }
+    }
+
+    public static long getAndSetLongField(Object base, long offset, long value) {
+        try {
+            return (long) GET_AND_SET_LONG.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get and set long field", e);
+        }
+    }
+
+    public static float getFloatField(Object base, long offset) {
+        try {
+            return (float) GET_FLOAT.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get float field", e);
+        }
+    }
+
+    public static void putFloatField(Object base, long offset, float value) {
+        try {
+            PUT_FLOAT.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put float field", e);
+        }
+    }
+
+    public static float getFloatFieldVolatile(Object base, long offset) {
+        try {
+            return (float) GET_FLOAT_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get float field volatile", e);
+        }
+    }
+
+    public static void putFloatFieldVolatile(Object base, long offset, float value) {
+        try {
+            PUT_FLOAT_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put float field volatile", e);
+        }
+    }
+
+    public static double getDoubleField(Object base, long offset) {
+        try {
+            return (double) GET_DOUBLE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get double field", e);
+        }
+    }
+
+    public static void putDoubleField(Object base, long offset, double value) {
+        try {
+            PUT_DOUBLE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put double field", e);
+        }
+    }
+
+    public static double getDoubleFieldVolatile(Object base, long offset) {
+        try {
+            return (double) GET_DOUBLE_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get double field volatile", e);
+        }
+    }
+
+    public static void putDoubleFieldVolatile(Object base, long offset, double value) {
+        try {
+            PUT_DOUBLE_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put double field volatile", e);
+        }
+    }
+
+    public static boolean getBooleanField(Object base, long offset) {
+        try {
+            return (boolean) GET_BOOLEAN.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get boolean field", e);
+        }
+    }
+
+    public static void putBooleanField(Object base, long offset, boolean value) {
+        try {
+            PUT_BOOLEAN.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put boolean field", e);
+        }
+    }
+
+    public static boolean getBooleanFieldVolatile(Object base, long offset) {
+        try {
+            return (boolean) GET_BOOLEAN_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get boolean field volatile", e);
+        }
+    }
+
+    public static void putBooleanFieldVolatile(Object base, long offset, boolean value) {
+        try {
+            PUT_BOOLEAN_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put boolean field volatile", e);
+        }
+    }
+
+    public static byte getByteField(Object base, long offset) {
+        try {
+            return (byte) GET_BYTE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get byte field", e);
+        }
+    }
+
+    public static void putByteField(Object base, long offset, byte value) {
+        try {
+            PUT_BYTE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put byte field", e);
+        }
+    }
+
+    public static byte getByteFieldVolatile(Object base, long offset) {
+        try {
+            return (byte) GET_BYTE_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get byte field volatile", e);
+        }
+    }
+
+    public static void putByteFieldVolatile(Object base, long offset, byte value) {
+        try {
+            PUT_BYTE_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put byte field volatile", e);
+        }
+    }
+
+    public static short getShortField(Object base, long offset) {
+        try {
+            return (short) GET_SHORT.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get short field", e);
+        }
+    }
+
+    public static void putShortField(Object base, long offset, short value) {
+        try {
+            PUT_SHORT.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put short field", e);
+        }
+    }
+
+    public static short getShortFieldVolatile(Object base, long offset) {
+        try {
+            return (short) GET_SHORT_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get short field volatile", e);
+        }
+    }
+
+    public static void putShortFieldVolatile(Object base, long offset, short value) {
+        try {
+            PUT_SHORT_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put short field volatile", e);
+        }
+    }
+
+    public static char getCharField(Object base, long offset) {
+        try {
+            return (char) GET_CHAR.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get char field", e);
+        }
+    }
+
+    public static void putCharField(Object base, long offset, char value) {
+        try {
+            PUT_CHAR.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put char field", e);
+        }
+    }
+
+    public static char getCharFieldVolatile(Object base, long offset) {
+        try {
+            return (char) GET_CHAR_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get char field volatile", e);
+        }
+    }
+
+    public static void putCharFieldVolatile(Object base, long offset, char value) {
+        try {
+            PUT_CHAR_VOLATILE.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put char field volatile", e);
+        }
+    }
+
+    public static Object getObjectFieldVolatile(Object base, long offset) {
+        try {
+            return (Object) GET_OBJECT_VOLATILE.invokeExact(base, offset);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get object field volatile", e);
+        }
+    }
+
+    public static void putObjectFieldOrdered(Object base, long offset, Object value) {
+        try {
+            PUT_ORDERED_OBJECT.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to put object field ordered", e);
+        }
+    }
+
+    public static boolean compareAndSetObjectField(Object base, long offset, Object expected, Object value) {
+        try {
+            return (boolean) COMPARE_AND_SWAP_OBJECT.invokeExact(base, offset, expected, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to compare and set object field", e);
+        }
+    }
+
+    public static Object getAndSetObjectField(Object base, long offset, Object value) {
+        try {
+            return (Object) GET_AND_SET_OBJECT.invokeExact(base, offset, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to get and set object field", e);
+        }
+    }
+
+    public static FieldAddress fieldAddress(Field field) {
+        return new FieldAddress(field);
+    }
+
+    private static MethodHandle bind(String name, Class<?> returnType, Class<?>... parameterTypes)
+            throws ReflectiveOperationException {
+        return MethodHandles.lookup().bind(UNSAFE, name, MethodType.methodType(returnType, parameterTypes));
+    }
+
+    static MethodHandle bindOptional(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return bind(name, returnType, parameterTypes);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            UnsupportedOperationException missing = new UnsupportedOperationException("Unsafe." + name
+                    + " is not available on this runtime", e);
+            MethodHandle thrower = MethodHandles.insertArguments(MethodHandles.throwException(returnType,
+                    UnsupportedOperationException.class), 0, missing);
+            return MethodHandles.dropArguments(thrower, 0, parameterTypes);
+        }
+    }
+
+    private static MethodHandle bindEnsureClassInitialized() throws ReflectiveOperationException {
+        try {
+            return bind("ensureClassInitialized", void.class, Class.class);
+        } catch (NoSuchMethodException e) {
+            return MethodHandles.lookup().findStatic(UnsafeAccess.class, "forceInitialization",
+                    MethodType.methodType(void.class, Class.class));
+        }
+    }
+
+    private static void forceInitialization(Class<?> clazz) throws ClassNotFoundException {
+        Class.forName(clazz.getName(), true, clazz.getClassLoader());
+    }
 }
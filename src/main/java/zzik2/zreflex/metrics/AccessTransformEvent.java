@@ -0,0 +1,42 @@
+package zzik2.zreflex.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one {@code ModifyAccessTransformer.postApply} pass over a mixin target.
+ */
+@Name("zzik2.zreflex.AccessTransform")
+@Label("Access Transform")
+@Category("ZReflex")
+@Description("Access and name changes applied to a mixin target class")
+public final class AccessTransformEvent extends Event {
+
+    @Label("Target Class")
+    String targetClass;
+
+    @Label("Mixin Class")
+    String mixinClass;
+
+    @Label("Members Changed")
+    int changedMembers;
+
+    public static AccessTransformEvent start() {
+        AccessTransformEvent event = new AccessTransformEvent();
+        event.begin();
+        return event;
+    }
+
+    public void complete(String target, String mixin, int changed) {
+        end();
+        if (shouldCommit()) {
+            targetClass = target;
+            mixinClass = mixin;
+            changedMembers = changed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package zzik2.zreflex.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for constants added to an enum through {@code ZEnumTool}.
+ */
+@Name("zzik2.zreflex.EnumMutation")
+@Label("Enum Mutation")
+@Category("ZReflex")
+@Description("Constants added to an enum at runtime")
+@StackTrace(true)
+public final class EnumMutationEvent extends Event {
+
+    @Label("Enum Type")
+    Class<?> enumType;
+
+    @Label("Constants Added")
+    int constantCount;
+
+    @Label("Values Array Length")
+    @Description("Length of the values array copied to hold the new constants")
+    int arrayLength;
+
+    @Label("Cache Invalidation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long invalidationTime;
+
+    public static EnumMutationEvent start() {
+        EnumMutationEvent event = new EnumMutationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void complete(Class<?> type, int constants, int length, long invalidationNanos) {
+        end();
+        if (shouldCommit()) {
+            enumType = type;
+            constantCount = constants;
+            arrayLength = length;
+            invalidationTime = invalidationNanos;
+            commit();
+        }
+    }
+}
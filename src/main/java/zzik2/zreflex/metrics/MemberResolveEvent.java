@@ -0,0 +1,67 @@
+package zzik2.zreflex.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a member lookup that missed the per-class cache and had to be resolved.
+ *
+ * <p>
+ * The event duration covers the hierarchy walk, overload resolution and the consultation of an attached persistent
+ * index. Cache hits never emit an event.
+ * </p>
+ */
+@Name("zzik2.zreflex.MemberResolve")
+@Label("Member Resolve")
+@Category("ZReflex")
+@Description("A reflective member lookup that missed the cache")
+@StackTrace(true)
+public final class MemberResolveEvent extends Event {
+
+    @Label("Owner Class")
+    Class<?> ownerClass;
+
+    @Label("Member Kind")
+    String memberKind;
+
+    @Label("Member")
+    String member;
+
+    @Label("Found")
+    boolean found;
+
+    public static MemberResolveEvent start() {
+        MemberResolveEvent event = new MemberResolveEvent();
+        event.begin();
+        return event;
+    }
+
+    public void complete(Class<?> owner, String kind, String name, Class<?>[] parameterTypes, boolean resolved) {
+        end();
+        if (shouldCommit()) {
+            ownerClass = owner;
+            memberKind = kind;
+            member = describe(name, parameterTypes);
+            found = resolved;
+            commit();
+        }
+    }
+
+    private static String describe(String name, Class<?>[] parameterTypes) {
+        if (parameterTypes == null) {
+            return name;
+        }
+        StringBuilder builder = new StringBuilder(name != null ? name : "<init>").append('(');
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(parameterTypes[i] != null ? parameterTypes[i].getTypeName() : "null");
+        }
+        return builder.append(')').toString();
+    }
+}
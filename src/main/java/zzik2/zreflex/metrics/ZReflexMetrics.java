@@ -0,0 +1,238 @@
+package zzik2.zreflex.metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters for member lookups, invocations, enum mutations and access transformations.
+ *
+ * <p>
+ * Metrics are off unless the JVM is started with {@code -Dzreflex.metrics=true}. The flag is read once into a
+ * {@code static final} field, so when it is off every recording method reduces to an empty body that the JIT
+ * removes from its callers. When it is on, the counters are {@link LongAdder}s, which stay cheap under contention,
+ * and the metrics are registered with the platform MBean server as {@value #OBJECT_NAME}.
+ * </p>
+ *
+ * <p>
+ * Invocation counters hang off the declaring class of each member through a {@link ClassValue}, and the classes
+ * that have counters are remembered weakly, so counting never keeps a class or its loader alive.
+ * </p>
+ */
+public final class ZReflexMetrics implements ZReflexMetricsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("zreflex.metrics");
+    public static final String OBJECT_NAME = "zzik2.zreflex:type=Metrics";
+
+    private static final ZReflexMetrics INSTANCE = new ZReflexMetrics();
+    private static final boolean JFR_PRESENT = isJfrPresent();
+
+    private final LongAdder lookupHits = new LongAdder();
+    private final LongAdder lookupMisses = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder resolveNanos = new LongAdder();
+    private final LongAdder enumMutations = new LongAdder();
+    private final LongAdder transformedMembers = new LongAdder();
+    private final LongAdder argumentCacheOverflows = new LongAdder();
+    private final Map<Class<?>, Boolean> counted = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ClassValue<ConcurrentHashMap<Member, LongAdder>> invocations =
+            new ClassValue<ConcurrentHashMap<Member, LongAdder>>() {
+                @Override
+                protected ConcurrentHashMap<Member, LongAdder> computeValue(Class<?> type) {
+                    counted.put(type, Boolean.TRUE);
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException ignored) {
+                // Another copy of the library already registered its metrics; counting still works locally.
+            }
+        }
+    }
+
+    private ZReflexMetrics() {
+    }
+
+    public static ZReflexMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // Loading the first event class before Flight Recorder is up initializes its whole infrastructure, which takes
+    // hundreds of milliseconds; the event classes are therefore only touched once a recording exists. Runtimes
+    // without the jdk.jfr module never record, and never link Flight Recorder classes at all.
+    public static boolean isRecording() {
+        return JFR_PRESENT && Jfr.isInitialized();
+    }
+
+    private static boolean isJfrPresent() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, ZReflexMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static void recordHit(boolean negative) {
+        if (ENABLED) {
+            (negative ? INSTANCE.negativeHits : INSTANCE.lookupHits).increment();
+        }
+    }
+
+    public static long startResolve() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    public static void recordResolve(long start) {
+        if (ENABLED) {
+            INSTANCE.lookupMisses.increment();
+            INSTANCE.resolveNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public static LongAdder invocationCounter(Member member) {
+        return ENABLED ? INSTANCE.invocations.get(member.getDeclaringClass())
+                .computeIfAbsent(member, key -> new LongAdder()) : null;
+    }
+
+    public static void recordInvocation(Member member) {
+        if (ENABLED) {
+            LongAdder counter = INSTANCE.invocations.get(member.getDeclaringClass()).get(member);
+            if (counter == null) {
+                counter = invocationCounter(member);
+            }
+            counter.increment();
+        }
+    }
+
+    public static void recordEnumMutation(int constants) {
+        if (ENABLED) {
+            INSTANCE.enumMutations.add(constants);
+        }
+    }
+
+    public static void recordTransformedMembers(int members) {
+        if (ENABLED && members > 0) {
+            INSTANCE.transformedMembers.add(members);
+        }
+    }
+
+    public static void recordArgumentCacheOverflow() {
+        if (ENABLED) {
+            INSTANCE.argumentCacheOverflows.increment();
+        }
+    }
+
+    @Override
+    public long getLookupHits() {
+        return lookupHits.sum();
+    }
+
+    @Override
+    public long getLookupMisses() {
+        return lookupMisses.sum();
+    }
+
+    @Override
+    public long getNegativeHits() {
+        return negativeHits.sum();
+    }
+
+    @Override
+    public long getResolveTimeNanos() {
+        return resolveNanos.sum();
+    }
+
+    @Override
+    public long getInvocations() {
+        long total = 0;
+        for (Map<Member, LongAdder> counters : countersByClass()) {
+            for (LongAdder counter : counters.values()) {
+                total += counter.sum();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getInvocationsByMember() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map<Member, LongAdder> counters : countersByClass()) {
+            for (Map.Entry<Member, LongAdder> entry : counters.entrySet()) {
+                Member member = entry.getKey();
+                String name = member instanceof Constructor ? "<init>" : member.getName();
+                counts.merge(member.getDeclaringClass().getName() + "#" + name, entry.getValue().sum(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public long getEnumMutations() {
+        return enumMutations.sum();
+    }
+
+    @Override
+    public long getTransformedMembers() {
+        return transformedMembers.sum();
+    }
+
+    @Override
+    public long getArgumentCacheOverflows() {
+        return argumentCacheOverflows.sum();
+    }
+
+    @Override
+    public void reset() {
+        lookupHits.reset();
+        lookupMisses.reset();
+        negativeHits.reset();
+        resolveNanos.reset();
+        enumMutations.reset();
+        transformedMembers.reset();
+        argumentCacheOverflows.reset();
+        for (Map<Member, LongAdder> counters : countersByClass()) {
+            for (LongAdder counter : counters.values()) {
+                counter.reset();
+            }
+        }
+    }
+
+    private List<Map<Member, LongAdder>> countersByClass() {
+        List<Class<?>> types;
+        synchronized (counted) {
+            types = new ArrayList<>(counted.keySet());
+        }
+        List<Map<Member, LongAdder>> counters = new ArrayList<>(types.size());
+        for (Class<?> type : types) {
+            counters.add(invocations.get(type));
+        }
+        return counters;
+    }
+
+    /**
+     * Holds the only reference to Flight Recorder, so the class is linked only after {@link #JFR_PRESENT} says the
+     * module is there.
+     */
+    private static final class Jfr {
+        static boolean isInitialized() {
+            return FlightRecorder.isInitialized();
+        }
+    }
+}
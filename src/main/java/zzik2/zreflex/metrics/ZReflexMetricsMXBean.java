@@ -0,0 +1,29 @@
+package zzik2.zreflex.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link ZReflexMetrics}, registered as {@code zzik2.zreflex:type=Metrics}.
+ */
+public interface ZReflexMetricsMXBean {
+
+    long getLookupHits();
+
+    long getLookupMisses();
+
+    long getNegativeHits();
+
+    long getResolveTimeNanos();
+
+    long getInvocations();
+
+    Map<String, Long> getInvocationsByMember();
+
+    long getEnumMutations();
+
+    long getTransformedMembers();
+
+    long getArgumentCacheOverflows();
+
+    void reset();
+}
@@ -9,6 +9,8 @@ import org.spongepowered.asm.mixin.MixinEnvironment;
 import org.spongepowered.asm.mixin.extensibility.IMixinConfigPlugin;
 import org.spongepowered.asm.mixin.extensibility.IMixinInfo;
 import org.spongepowered.asm.mixin.extensibility.IRemapper;
+import zzik2.zreflex.metrics.AccessTransformEvent;
+import zzik2.zreflex.metrics.ZReflexMetrics;
 
 import java.util.List;
 import java.util.Set;
@@ -63,12 +65,20 @@ public class ModifyAccessTransformer implements IMixinConfigPlugin {
 
     @Override
     public void postApply(String targetClassName, ClassNode targetClass, String mixinClassName, IMixinInfo mixinInfo) {
-        processFields(targetClass, targetClassName);
-        processMethods(targetClass, targetClassName);
+        AccessTransformEvent event = ZReflexMetrics.isRecording() ? AccessTransformEvent.start() : null;
+        int changed = processFields(targetClass, targetClassName);
+        changed += processMethods(targetClass, targetClassName);
+        if (event != null) {
+            event.complete(targetClassName, mixinClassName, changed);
+        }
+        ZReflexMetrics.recordTransformedMembers(changed);
     }
 
-    private void processFields(ClassNode classNode, String className) {
+    private int processFields(ClassNode classNode, String className) {
+        int changed = 0;
         for (FieldNode field : classNode.fields) {
+            int access = field.access;
+            String name = field.name;
             ModifyAccessInfo info = getModifyAccessInfo(field.visibleAnnotations, field.invisibleAnnotations);
             if (info != null) {
                 field.access = applyAccessModifier(field.access, info);
@@ -81,11 +91,18 @@ public class ModifyAccessTransformer implements IMixinConfigPlugin {
                 }
                 field.name = newName;
             }
+            if (field.access != access || !field.name.equals(name)) {
+                changed++;
+            }
         }
+        return changed;
     }
 
-    private void processMethods(ClassNode classNode, String className) {
+    private int processMethods(ClassNode classNode, String className) {
+        int changed = 0;
         for (MethodNode method : classNode.methods) {
+            int access = method.access;
+            String name = method.name;
             ModifyAccessInfo info = getModifyAccessInfo(method.visibleAnnotations, method.invisibleAnnotations);
             if (info != null) {
                 method.access = applyAccessModifier(method.access, info);
@@ -98,7 +115,11 @@ public class ModifyAccessTransformer implements IMixinConfigPlugin {
                 }
                 method.name = newName;
             }
+            if (method.access != access || !method.name.equals(name)) {
+                changed++;
+            }
         }
+        return changed;
     }
 
     protected String mapFieldName(String owner, String name, String desc) {
@@ -0,0 +1,109 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implements accessor interfaces annotated with {@link zzik2.zreflex.reflection.bind.Field} and
+ * {@link zzik2.zreflex.reflection.bind.Method} on top of {@link ProxyGenerator}. Every member is resolved and
+ * validated once per accessor interface and target class.
+ *
+ * <p>
+ * Each binding is a generated class calling its member handles from {@code static final} fields. The class is
+ * defined next to the target class when the target's loader can see the accessor interface, and bindings are cached
+ * on the target class, so a target class and its loader can unload even while the accessor interface stays loaded.
+ * </p>
+ */
+final class AccessorBinder {
+
+    // Keyed by target class, then by accessor interface.
+    private static final ClassValue<ConcurrentHashMap<Class<?>, Object>> BINDINGS =
+            new ClassValue<ConcurrentHashMap<Class<?>, Object>>() {
+                @Override
+                protected ConcurrentHashMap<Class<?>, Object> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private AccessorBinder() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T bind(Class<T> accessType, Class<?> targetClass) {
+        ConcurrentHashMap<Class<?>, Object> bindings = BINDINGS.get(targetClass);
+        Object binding = bindings.get(accessType);
+        if (binding == null) {
+            binding = ProxyGenerator.createProxy(accessType, method -> implement(method, targetClass), targetClass);
+            Object existing = bindings.putIfAbsent(accessType, binding);
+            if (existing != null) {
+                binding = existing;
+            }
+        }
+        return (T) binding;
+    }
+
+    private static MethodHandle implement(Method method, Class<?> targetClass) {
+        zzik2.zreflex.reflection.bind.Field field = method.getAnnotation(zzik2.zreflex.reflection.bind.Field.class);
+        if (field != null) {
+            return bindField(method, targetClass, field.value());
+        }
+        zzik2.zreflex.reflection.bind.Method target = method.getAnnotation(zzik2.zreflex.reflection.bind.Method.class);
+        if (target != null) {
+            return bindMethod(method, targetClass, target.value().isEmpty() ? method.getName() : target.value());
+        }
+        return null;
+    }
+
+    private static MethodHandle bindField(Method method, Class<?> targetClass, String fieldName) {
+        Field field = ZReflectionTool.findField(targetClass, fieldName);
+        int receiverCount = Modifier.isStatic(field.getModifiers()) ? 0 : 1;
+        int parameterCount = method.getParameterCount();
+        VarHandle.AccessMode mode;
+        if (parameterCount == receiverCount && method.getReturnType() != void.class) {
+            mode = VarHandle.AccessMode.GET;
+        } else if (parameterCount == receiverCount + 1 && method.getReturnType() == void.class) {
+            mode = VarHandle.AccessMode.SET;
+        } else {
+            throw new ReflectionException("Invalid field accessor signature: " + method.getName() + " for field "
+                    + fieldName);
+        }
+        try {
+            return UnsafeAccess.trustedLookup().unreflectVarHandle(field).toMethodHandle(mode);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Cannot access: " + fieldName, e);
+        }
+    }
+
+    private static MethodHandle bindMethod(Method method, Class<?> targetClass, String methodName) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Method resolved = null;
+        if (parameterTypes.length > 0) {
+            Method candidate = MemberIndex.of(targetClass).findMethod(methodName,
+                    Arrays.copyOfRange(parameterTypes, 1, parameterTypes.length));
+            if (candidate != null && !Modifier.isStatic(candidate.getModifiers())) {
+                resolved = candidate;
+            }
+        }
+        if (resolved == null) {
+            Method candidate = MemberIndex.of(targetClass).findMethod(methodName, parameterTypes);
+            if (candidate == null || !Modifier.isStatic(candidate.getModifiers())) {
+                throw new ReflectionException("Method not found: " + methodName + " in " + targetClass.getName());
+            }
+            resolved = candidate;
+        }
+        try {
+            return UnsafeAccess.trustedLookup().unreflect(resolved).asFixedArity();
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Cannot access: " + methodName, e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.metrics.ZReflexMetrics;
+
+import java.util.Arrays;
+
+/**
+ * A small copy-on-write cache mapping runtime argument classes to a resolved member.
+ *
+ * <p>
+ * Probes compare the classes of up to four arguments against each entry without building a {@code Class<?>[]},
+ * so a hit allocates nothing. A {@code null} argument matches an entry recorded for {@code null}.
+ * </p>
+ *
+ * <p>
+ * The first {@value #MAX_ENTRIES} argument type tuples are kept in that array. Further tuples spill into a
+ * copy-on-write open-addressed table of up to {@value #MAX_OVERFLOW_ENTRIES} entries, hashed on the identity of the
+ * argument classes and probed in place, so a hit there allocates nothing either. Tuples beyond that are resolved on
+ * every call. Every tuple that does not fit in the array is counted in
+ * {@link ZReflexMetrics#getArgumentCacheOverflows()}.
+ * </p>
+ *
+ * @param <M> the cached member type
+ */
+final class ArgumentTypeCache<M> {
+
+    private static final int MAX_ENTRIES = 8;
+    private static final int MAX_OVERFLOW_ENTRIES = 256;
+
+    @SuppressWarnings("rawtypes")
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    @SuppressWarnings("unchecked")
+    private volatile Entry<M>[] entries = NO_ENTRIES;
+    private volatile Entry<M>[] overflow;
+    private int overflowCount;
+
+    M find(int count, Object a, Object b, Object c, Object d) {
+        for (Entry<M> entry : entries) {
+            if (entry.matches(count, a, b, c, d)) {
+                return entry.member;
+            }
+        }
+        Entry<M>[] table = overflow;
+        if (table == null) {
+            return null;
+        }
+        int mask = table.length - 1;
+        for (int i = hash(count, typeOf(a), typeOf(b), typeOf(c), typeOf(d)) & mask; table[i] != null;
+                i = (i + 1) & mask) {
+            if (table[i].matches(count, a, b, c, d)) {
+                return table[i].member;
+            }
+        }
+        return null;
+    }
+
+    synchronized void add(Class<?>[] types, M member) {
+        Entry<M>[] current = entries;
+        for (Entry<M> entry : current) {
+            if (Arrays.equals(entry.types, types)) {
+                return;
+            }
+        }
+        if (current.length >= MAX_ENTRIES) {
+            spill(types, member);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Entry<M>[] expanded = new Entry[current.length + 1];
+        System.arraycopy(current, 0, expanded, 0, current.length);
+        expanded[current.length] = new Entry<>(types, member);
+        entries = expanded;
+    }
+
+    private void spill(Class<?>[] types, M member) {
+        Entry<M>[] table = overflow;
+        if (table != null) {
+            for (Entry<M> entry : table) {
+                if (entry != null && Arrays.equals(entry.types, types)) {
+                    return;
+                }
+            }
+        }
+        ZReflexMetrics.recordArgumentCacheOverflow();
+        if (overflowCount >= MAX_OVERFLOW_ENTRIES) {
+            return;
+        }
+        // Kept at most half full, so probes stay short and always reach an empty slot.
+        int capacity = table != null ? table.length : 16;
+        while (capacity < (overflowCount + 1) * 2) {
+            capacity *= 2;
+        }
+        @SuppressWarnings("unchecked")
+        Entry<M>[] rebuilt = new Entry[capacity];
+        if (table != null) {
+            for (Entry<M> entry : table) {
+                if (entry != null) {
+                    insert(rebuilt, entry);
+                }
+            }
+        }
+        insert(rebuilt, new Entry<>(types, member));
+        overflowCount++;
+        overflow = rebuilt;
+    }
+
+    private static <M> void insert(Entry<M>[] table, Entry<M> entry) {
+        int mask = table.length - 1;
+        int i = entry.hash & mask;
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = entry;
+    }
+
+    private static int hash(int count, Class<?> a, Class<?> b, Class<?> c, Class<?> d) {
+        int hash = count;
+        if (count > 0) {
+            hash = hash * 31 + System.identityHashCode(a);
+        }
+        if (count > 1) {
+            hash = hash * 31 + System.identityHashCode(b);
+        }
+        if (count > 2) {
+            hash = hash * 31 + System.identityHashCode(c);
+        }
+        if (count > 3) {
+            hash = hash * 31 + System.identityHashCode(d);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    static Class<?>[] typesOf(int count, Object a, Object b, Object c, Object d) {
+        Class<?>[] types = new Class<?>[count];
+        if (count > 0) {
+            types[0] = typeOf(a);
+        }
+        if (count > 1) {
+            types[1] = typeOf(b);
+        }
+        if (count > 2) {
+            types[2] = typeOf(c);
+        }
+        if (count > 3) {
+            types[3] = typeOf(d);
+        }
+        return types;
+    }
+
+    static Class<?>[] typesOf(Object[] args) {
+        Class<?>[] types = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = typeOf(args[i]);
+        }
+        return types;
+    }
+
+    private static Class<?> typeOf(Object arg) {
+        return arg != null ? arg.getClass() : null;
+    }
+
+    private static final class Entry<M> {
+        private final Class<?>[] types;
+        private final M member;
+        private final int hash;
+
+        Entry(Class<?>[] types, M member) {
+            this.types = types;
+            this.member = member;
+            int count = types.length;
+            this.hash = hash(count, count > 0 ? types[0] : null, count > 1 ? types[1] : null,
+                    count > 2 ? types[2] : null, count > 3 ? types[3] : null);
+        }
+
+        boolean matches(int count, Object a, Object b, Object c, Object d) {
+            Class<?>[] t = types;
+            return t.length == count
+                    && (count < 1 || matches(t[0], a))
+                    && (count < 2 || matches(t[1], b))
+                    && (count < 3 || matches(t[2], c))
+                    && (count < 4 || matches(t[3], d));
+        }
+
+        private static boolean matches(Class<?> type, Object arg) {
+            return arg == null ? type == null : arg.getClass() == type;
+        }
+    }
+}
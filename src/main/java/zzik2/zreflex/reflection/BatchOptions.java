@@ -0,0 +1,86 @@
+package zzik2.zreflex.reflection;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How {@link ZReflectionTool#invokeAll(java.util.Collection, String, BatchOptions, Object...)} spreads a batch
+ * over threads.
+ *
+ * <p>
+ * A sequential batch runs on the calling thread. A parallel batch is cut into chunks of {@code chunkSize} targets;
+ * on a {@link ForkJoinPool} the chunks are forked recursively, on any other {@link Executor} each chunk is
+ * submitted as one task. Either way the call returns once every chunk has finished.
+ * </p>
+ */
+public final class BatchOptions {
+
+    private static final BatchOptions SEQUENTIAL = new BatchOptions(null, Integer.MAX_VALUE);
+
+    private final Executor executor;
+    private final int chunkSize;
+
+    private BatchOptions(Executor executor, int chunkSize) {
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    public static BatchOptions sequential() {
+        return SEQUENTIAL;
+    }
+
+    public static BatchOptions parallel() {
+        return parallel(ParallelRange.MIN_CHUNK);
+    }
+
+    public static BatchOptions parallel(int chunkSize) {
+        return parallel(ForkJoinPool.commonPool(), chunkSize);
+    }
+
+    public static BatchOptions parallel(Executor executor, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        return new BatchOptions(Objects.requireNonNull(executor, "executor"), chunkSize);
+    }
+
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    void execute(int size, ParallelRange.Action action) {
+        if (executor == null || size <= chunkSize) {
+            action.run(0, size);
+        } else if (executor instanceof ForkJoinPool) {
+            ParallelRange.forEach((ForkJoinPool) executor, size, chunkSize, action);
+        } else {
+            CompletableFuture<?>[] chunks = new CompletableFuture<?>[(size + chunkSize - 1) / chunkSize];
+            for (int i = 0; i < chunks.length; i++) {
+                int from = i * chunkSize;
+                int to = Math.min(size, from + chunkSize);
+                chunks[i] = CompletableFuture.runAsync(() -> action.run(from, to), executor);
+            }
+            try {
+                CompletableFuture.allOf(chunks).join();
+            } catch (CompletionException e) {
+                // Targets' own exceptions are recorded as failures, so only errors such as
+                // VirtualMachineError reach here; they are rethrown as they were raised.
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package zzik2.zreflex.reflection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of {@link ZReflectionTool#invokeAll(java.util.Collection, String, Object...)}: how many targets were
+ * invoked and which of them failed.
+ *
+ * <p>
+ * A failing target does not stop the batch; its exception is recorded as a {@link Failure} and the remaining
+ * targets are still invoked. Failures are listed in no particular order when the batch ran in parallel.
+ * </p>
+ */
+public final class BatchResult {
+
+    private final int targetCount;
+    private final List<Failure> failures = new ArrayList<>();
+
+    BatchResult(int targetCount) {
+        this.targetCount = targetCount;
+    }
+
+    synchronized void addFailures(List<Failure> chunkFailures) {
+        failures.addAll(chunkFailures);
+    }
+
+    public int getTargetCount() {
+        return targetCount;
+    }
+
+    public synchronized int getSuccessCount() {
+        return targetCount - failures.size();
+    }
+
+    public synchronized boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public synchronized List<Failure> getFailures() {
+        return Collections.unmodifiableList(new ArrayList<>(failures));
+    }
+
+    public static final class Failure {
+        private final Object target;
+        private final Throwable cause;
+
+        Failure(Object target, Throwable cause) {
+            this.target = target;
+            this.cause = cause;
+        }
+
+        public Object getTarget() {
+            return target;
+        }
+
+        public Throwable getCause() {
+            return cause;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package zzik2.zreflex.reflection;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rebinds a handle-backed accessor as a generated subclass whose overriding methods read their handles from
+ * {@code static final} fields. The JIT treats those fields as constants, so a call through an accessor kept in a
+ * {@code static final} field inlines down to the bound member instead of dispatching through an instance field.
+ *
+ * <p>
+ * The subclass is defined next to the class declaring the member, in its loader, so it unloads together with it.
+ * Members of bootstrap classes, or of loaders that zreflex's own loader delegates to, are bound in this package
+ * instead. When neither is possible, or ASM is not on the classpath, the accessor is returned unchanged and keeps
+ * calling its instance handles.
+ * </p>
+ */
+final class ConstantHandles {
+
+    static final int NO_GUARD = -1;
+    static final int GUARD_ARRAY_LENGTH = -2;
+
+    private static final boolean ASM_PRESENT = isAsmPresent();
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private ConstantHandles() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T bind(T template, Class<?> owner, Binding... bindings) {
+        Class<?> base = template.getClass();
+        Class<?> host = ASM_PRESENT ? hostFor(base, owner) : null;
+        Class<?> bound = host != null ? define(host, base, bindings) : null;
+        if (bound == null && host != null && host != base && isAncestor(owner.getClassLoader(),
+                base.getClassLoader())) {
+            // The owner's package refused the class, for example because it is sealed.
+            bound = define(base, base, bindings);
+        }
+        if (bound == null) {
+            return template;
+        }
+        MethodHandle[] handles = new MethodHandle[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            handles[i] = bindings[i].handle;
+        }
+        try {
+            store(bound, handles);
+            MethodHandle constructor = UnsafeAccess.trustedLookup().findConstructor(bound,
+                    MethodType.methodType(void.class, base));
+            return (T) constructor.invoke(template);
+        } catch (Throwable e) {
+            throw new ReflectionException("Failed to bind constant handles for: " + owner.getName(), e);
+        }
+    }
+
+    /**
+     * Writes each non-null handle into the {@code static final} field {@code h<i>} of a generated class before the
+     * class is initialized, so no initializer or registry has to hand the handles over.
+     */
+    static void store(Class<?> type, MethodHandle[] handles) throws NoSuchFieldException {
+        for (int i = 0; i < handles.length; i++) {
+            if (handles[i] != null) {
+                Field field = type.getDeclaredField("h" + i);
+                UnsafeAccess.putObjectField(UnsafeAccess.getStaticFieldBase(field),
+                        UnsafeAccess.getStaticFieldOffset(field), handles[i]);
+            }
+        }
+    }
+
+    private static Class<?> define(Class<?> host, Class<?> base, Binding[] bindings) {
+        try {
+            return UnsafeAccess.trustedLookup().in(host).defineClass(Generator.writeClass(host, base, bindings));
+        } catch (IllegalAccessException | LinkageError | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> hostFor(Class<?> base, Class<?> owner) {
+        ClassLoader loader = owner.getClassLoader();
+        if (loader != null && !owner.getName().startsWith("java.") && owner.getName().indexOf('/') < 0
+                && (!owner.getModule().isNamed() || owner.getModule() == base.getModule()) && sees(loader, base)) {
+            return owner;
+        }
+        return isAncestor(loader, base.getClassLoader()) ? base : null;
+    }
+
+    private static boolean sees(ClassLoader loader, Class<?> base) {
+        try {
+            return Class.forName(base.getName(), false, loader) == base;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    static boolean isAncestor(ClassLoader candidate, ClassLoader loader) {
+        if (candidate == null) {
+            return true;
+        }
+        for (ClassLoader current = loader; current != null; current = current.getParent()) {
+            if (current == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsmPresent() {
+        try {
+            Class.forName("org.objectweb.asm.ClassWriter", false, ConstantHandles.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * One overriding method: it runs the base class's {@code beforeInvoke} guard if requested, calls its handle
+     * with {@code invokeExact} using the handle's own type as descriptor, and passes any throwable to the named
+     * failure method of the base class.
+     */
+    static final class Binding {
+        private final String name;
+        private final MethodHandle handle;
+        private final String failure;
+        private final int guard;
+
+        Binding(String name, MethodHandle handle, String failure, int guard) {
+            this.name = name;
+            this.handle = handle;
+            this.failure = failure;
+            this.guard = guard;
+        }
+    }
+
+    private static final class Generator {
+
+        private static final String HANDLE_INTERNAL_NAME = Type.getInternalName(MethodHandle.class);
+        private static final String HANDLE_DESCRIPTOR = Type.getDescriptor(MethodHandle.class);
+
+        static byte[] writeClass(Class<?> host, Class<?> base, Binding[] bindings) {
+            String className = Type.getInternalName(host) + "$ZReflex" + base.getSimpleName() + "$"
+                    + COUNTER.incrementAndGet();
+            String baseName = Type.getInternalName(base);
+            ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+                @Override
+                protected String getCommonSuperClass(String type1, String type2) {
+                    return "java/lang/Object";
+                }
+            };
+            writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER
+                    | Opcodes.ACC_SYNTHETIC, className, null, baseName, null);
+
+            for (int i = 0; i < bindings.length; i++) {
+                writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "h" + i,
+                        HANDLE_DESCRIPTOR, null, null).visitEnd();
+            }
+
+            String constructorDescriptor = "(" + Type.getDescriptor(base) + ")V";
+            MethodVisitor init = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", constructorDescriptor, null, null);
+            init.visitCode();
+            init.visitVarInsn(Opcodes.ALOAD, 0);
+            init.visitVarInsn(Opcodes.ALOAD, 1);
+            init.visitMethodInsn(Opcodes.INVOKESPECIAL, baseName, "<init>", constructorDescriptor, false);
+            init.visitInsn(Opcodes.RETURN);
+            init.visitMaxs(0, 0);
+            init.visitEnd();
+
+            for (int i = 0; i < bindings.length; i++) {
+                writeMethod(writer, className, base, bindings[i], i);
+            }
+            writer.visitEnd();
+            return writer.toByteArray();
+        }
+
+        private static void writeMethod(ClassWriter writer, String className, Class<?> base, Binding binding,
+                int index) {
+            String baseName = Type.getInternalName(base);
+            String descriptor = binding.handle.type().toMethodDescriptorString();
+            Type methodType = Type.getMethodType(descriptor);
+            Type[] arguments = methodType.getArgumentTypes();
+            MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, binding.name,
+                    descriptor, null, null);
+            visitor.visitCode();
+            int slot = 1;
+            for (Type argument : arguments) {
+                slot += argument.getSize();
+            }
+            if (binding.guard != NO_GUARD) {
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                if (binding.guard == GUARD_ARRAY_LENGTH) {
+                    visitor.visitVarInsn(Opcodes.ALOAD, slot - 1);
+                    visitor.visitInsn(Opcodes.ARRAYLENGTH);
+                } else {
+                    visitor.visitLdcInsn(binding.guard);
+                }
+                visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, baseName, "beforeInvoke", "(I)V", false);
+            }
+            Label start = new Label();
+            Label end = new Label();
+            Label handler = new Label();
+            visitor.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+            visitor.visitLabel(start);
+            visitor.visitFieldInsn(Opcodes.GETSTATIC, className, "h" + index, HANDLE_DESCRIPTOR);
+            int argumentSlot = 1;
+            for (Type argument : arguments) {
+                visitor.visitVarInsn(argument.getOpcode(Opcodes.ILOAD), argumentSlot);
+                argumentSlot += argument.getSize();
+            }
+            visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, HANDLE_INTERNAL_NAME, "invokeExact", descriptor, false);
+            visitor.visitLabel(end);
+            visitor.visitInsn(methodType.getReturnType().getOpcode(Opcodes.IRETURN));
+            visitor.visitLabel(handler);
+            visitor.visitVarInsn(Opcodes.ASTORE, slot);
+            visitor.visitVarInsn(Opcodes.ALOAD, 0);
+            visitor.visitVarInsn(Opcodes.ALOAD, slot);
+            visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, baseName, binding.failure,
+                    failureDescriptor(base, binding.failure), false);
+            visitor.visitInsn(Opcodes.ATHROW);
+            visitor.visitMaxs(0, 0);
+            visitor.visitEnd();
+        }
+
+        private static String failureDescriptor(Class<?> base, String name) {
+            try {
+                return Type.getMethodDescriptor(base.getDeclaredMethod(name, Throwable.class));
+            } catch (NoSuchMethodException e) {
+                throw new ReflectionException("Missing failure method: " + name + " in " + base.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Deep copies object graphs through per-class copy plans compiled from the member index.
+ *
+ * <p>
+ * Each class gets one plan, cached per copier: plain objects are allocated without running a constructor, their fields
+ * are copied through the {@link FieldCopier} of the class, and only reference fields that may hold mutable state are
+ * then replaced with deep copies. Arrays are copied element by element. Maps and collections are rebuilt by
+ * re-inserting their copied entries into a new instance, so hash-based and sorted containers stay consistent with the
+ * copied keys: the common {@code java.util} classes are presized, and any other container is created through its
+ * no-argument or comparator constructor, carrying over only its entries. The hashed immutable sets and maps of
+ * {@code Set.of} and {@code Map.of} are rebuilt through those factories. Containers without a usable constructor,
+ * such as the {@code Collections} wrappers and singletons, are copied field by field, which rebuilds the containers
+ * they wrap; a container without one that keeps its own hash table must be shared. Shared references and cycles are
+ * preserved through an identity map, so every source object is copied exactly once.
+ * </p>
+ *
+ * <p>
+ * Strings, boxed primitives, enums and other immutable JDK types are shared rather than copied. Additional types or
+ * individual fields can be opted out through the {@link Builder}; their values are shared by reference:
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * private static final DeepCopier SNAPSHOTS = DeepCopier.builder()
+ *         .shareType(World.class)
+ *         .shareField(BlockEntity.class, "level")
+ *         .build();
+ *
+ * BlockEntity snapshot = SNAPSHOTS.copy(blockEntity);
+ * }
+ * </pre>
+ */
+public final class DeepCopier {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class,
+            Byte.class, Short.class, Character.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class, Class.class, Object.class));
+
+    private static final Map<Class<?>, Function<Object, Object>> CONTAINER_FACTORIES = new HashMap<>();
+
+    static {
+        CONTAINER_FACTORIES.put(ArrayList.class, source -> new ArrayList<>(((Collection<?>) source).size()));
+        CONTAINER_FACTORIES.put(LinkedList.class, source -> new LinkedList<>());
+        CONTAINER_FACTORIES.put(ArrayDeque.class, source -> new ArrayDeque<>(((Collection<?>) source).size()));
+        CONTAINER_FACTORIES.put(HashSet.class, source -> new HashSet<>(capacity(((Collection<?>) source).size())));
+        CONTAINER_FACTORIES.put(LinkedHashSet.class,
+                source -> new LinkedHashSet<>(capacity(((Collection<?>) source).size())));
+        CONTAINER_FACTORIES.put(TreeSet.class, source -> new TreeSet<>(((TreeSet<?>) source).comparator()));
+        CONTAINER_FACTORIES.put(HashMap.class, source -> new HashMap<>(capacity(((Map<?, ?>) source).size())));
+        CONTAINER_FACTORIES.put(LinkedHashMap.class, source -> new LinkedHashMap<>(
+                capacity(((Map<?, ?>) source).size()), 0.75f, LinkedHashMapAccess.isAccessOrder(source)));
+        CONTAINER_FACTORIES.put(TreeMap.class, source -> new TreeMap<>(((TreeMap<?, ?>) source).comparator()));
+        CONTAINER_FACTORIES.put(IdentityHashMap.class,
+                source -> new IdentityHashMap<>(((Map<?, ?>) source).size()));
+        CONTAINER_FACTORIES.put(ConcurrentHashMap.class,
+                source -> new ConcurrentHashMap<>(capacity(((Map<?, ?>) source).size())));
+    }
+
+    private static final Object[] NO_REFERENCES = new Object[0];
+    private static final Class<?> IMMUTABLE_SET = Set.of(1, 2, 3).getClass();
+    private static final Class<?> IMMUTABLE_MAP = Map.of(1, 1, 2, 2).getClass();
+
+    private static final DeepCopier DEFAULT = builder().build();
+
+    private final Set<Class<?>> sharedTypes;
+    private final Set<Field> sharedFields;
+    private final ClassValue<Plan> plans = new ClassValue<Plan>() {
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return createPlan(type);
+        }
+    };
+
+    private DeepCopier(Builder builder) {
+        this.sharedTypes = new HashSet<>(builder.sharedTypes);
+        this.sharedFields = new HashSet<>(builder.sharedFields);
+    }
+
+    public static DeepCopier defaults() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T copy(T source) {
+        Session session = new Session();
+        Object target = session.resolve(source);
+        session.run();
+        return (T) target;
+    }
+
+    private Plan createPlan(Class<?> type) {
+        if (isShared(type)) {
+            return new Plan(Kind.SHARED, null, null, null);
+        }
+        if (type.isArray()) {
+            Class<?> component = type.getComponentType();
+            boolean shallow = component.isPrimitive() || isAlwaysShared(component);
+            return new Plan(shallow ? Kind.SHALLOW_ARRAY : Kind.ARRAY, null, null, null);
+        }
+        if (type == IMMUTABLE_SET || type == IMMUTABLE_MAP) {
+            return new Plan(type == IMMUTABLE_MAP ? Kind.IMMUTABLE_MAP : Kind.IMMUTABLE_SET, null,
+                    FieldCopier.of(type), null);
+        }
+        if (Map.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)) {
+            Function<Object, Object> factory = CONTAINER_FACTORIES.get(type);
+            if (factory == null) {
+                factory = containerFactory(type);
+            }
+            if (factory != null) {
+                return new Plan(Map.class.isAssignableFrom(type) ? Kind.MAP : Kind.COLLECTION, factory, null, null);
+            }
+        }
+        List<Long> offsets = new ArrayList<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : MemberIndex.of(current).getDeclaredFields()) {
+                Class<?> fieldType = field.getType();
+                if (Modifier.isStatic(field.getModifiers()) || fieldType.isPrimitive() || sharedFields.contains(field)
+                        || isAlwaysShared(fieldType)) {
+                    continue;
+                }
+                offsets.add(UnsafeAccess.getInstanceFieldOffset(field));
+            }
+        }
+        long[] deepOffsets = new long[offsets.size()];
+        for (int i = 0; i < deepOffsets.length; i++) {
+            deepOffsets[i] = offsets.get(i);
+        }
+        return new Plan(Kind.OBJECT, null, FieldCopier.of(type), deepOffsets);
+    }
+
+    private static Function<Object, Object> containerFactory(Class<?> type) {
+        if (EnumSet.class.isAssignableFrom(type)) {
+            return source -> ((EnumSet<?>) source).clone();
+        }
+        if (type == EnumMap.class) {
+            return source -> ((EnumMap<?, ?>) source).clone();
+        }
+        InstanceFactory<?> empty = containerConstructor(type);
+        InstanceFactory<?> sorted = SortedMap.class.isAssignableFrom(type) || SortedSet.class.isAssignableFrom(type)
+                ? containerConstructor(type, Comparator.class) : null;
+        if (sorted != null) {
+            return source -> {
+                Comparator<?> comparator = source instanceof SortedMap ? ((SortedMap<?, ?>) source).comparator()
+                        : ((SortedSet<?>) source).comparator();
+                if (comparator != null) {
+                    return sorted.create1(comparator);
+                }
+                return empty != null ? empty.create0() : sorted.create1(null);
+            };
+        }
+        return empty != null ? source -> empty.create0() : null;
+    }
+
+    private static InstanceFactory<?> containerConstructor(Class<?> type, Class<?>... parameterTypes) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        Constructor<?> constructor = MemberIndex.of(type).findConstructorExact(parameterTypes);
+        return constructor != null ? InstanceFactory.of(constructor) : null;
+    }
+
+    private boolean isShared(Class<?> type) {
+        return IMMUTABLE_TYPES.contains(type) || Enum.class.isAssignableFrom(type) || isSharedType(type);
+    }
+
+    private boolean isAlwaysShared(Class<?> declaredType) {
+        return Enum.class.isAssignableFrom(declaredType) || isSharedType(declaredType)
+                || IMMUTABLE_TYPES.contains(declaredType) && Modifier.isFinal(declaredType.getModifiers());
+    }
+
+    private boolean isSharedType(Class<?> type) {
+        for (Class<?> sharedType : sharedTypes) {
+            if (sharedType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object allocate(Class<?> type) {
+        try {
+            return UnsafeAccess.allocateInstance(type);
+        } catch (RuntimeException e) {
+            throw new ReflectionException("Failed to copy instance of " + type.getName(), e);
+        }
+    }
+
+    private static Object cloneArray(Object source) {
+        if (source instanceof int[]) {
+            return ((int[]) source).clone();
+        } else if (source instanceof long[]) {
+            return ((long[]) source).clone();
+        } else if (source instanceof byte[]) {
+            return ((byte[]) source).clone();
+        } else if (source instanceof float[]) {
+            return ((float[]) source).clone();
+        } else if (source instanceof double[]) {
+            return ((double[]) source).clone();
+        } else if (source instanceof boolean[]) {
+            return ((boolean[]) source).clone();
+        } else if (source instanceof short[]) {
+            return ((short[]) source).clone();
+        } else if (source instanceof char[]) {
+            return ((char[]) source).clone();
+        }
+        return ((Object[]) source).clone();
+    }
+
+    private static int capacity(int size) {
+        return Math.max((int) (size / 0.75f) + 1, 16);
+    }
+
+    /**
+     * One copy operation. Sources are replaced by allocated targets as they are first reached, and their fields and
+     * elements are filled from an explicit work stack, so long linked graphs do not grow the call stack. Containers
+     * are only filled once every object is complete, in post-order over the copied graph reachable from their
+     * entries, so a container whose keys reach another container is filled after it and hash codes and orderings see
+     * the copied state of their keys.
+     */
+    private final class Session {
+        private final IdentityHashMap<Object, Object> copies = new IdentityHashMap<>();
+        private final ArrayDeque<Object[]> work = new ArrayDeque<>();
+        private final IdentityHashMap<Object, Object[]> fills = new IdentityHashMap<>();
+
+        Object resolve(Object source) {
+            if (source == null) {
+                return null;
+            }
+            Plan plan = plans.get(source.getClass());
+            if (plan.kind == Kind.SHARED) {
+                return source;
+            }
+            Object existing = copies.get(source);
+            if (existing != null) {
+                return existing;
+            }
+            Object target;
+            switch (plan.kind) {
+                case SHALLOW_ARRAY:
+                    target = cloneArray(source);
+                    break;
+                case ARRAY:
+                    target = ((Object[]) source).clone();
+                    break;
+                case COLLECTION:
+                case MAP:
+                    target = plan.factory.apply(source);
+                    break;
+                case IMMUTABLE_SET:
+                case IMMUTABLE_MAP:
+                    target = allocate(source.getClass());
+                    break;
+                default:
+                    target = allocate(source.getClass());
+                    plan.copier.copy(source, target);
+                    break;
+            }
+            copies.put(source, target);
+            if (plan.kind != Kind.SHALLOW_ARRAY && (plan.kind != Kind.OBJECT || plan.deepOffsets.length > 0)) {
+                work.push(new Object[] { plan, source, target });
+            }
+            return target;
+        }
+
+        void run() {
+            Object[] task;
+            while ((task = work.poll()) != null) {
+                Plan plan = (Plan) task[0];
+                switch (plan.kind) {
+                    case ARRAY:
+                        copyArray((Object[]) task[1], (Object[]) task[2]);
+                        break;
+                    case COLLECTION:
+                    case IMMUTABLE_SET:
+                        copyCollection((Collection<?>) task[1], task[2]);
+                        break;
+                    case MAP:
+                    case IMMUTABLE_MAP:
+                        copyMap((Map<?, ?>) task[1], task[2]);
+                        break;
+                    default:
+                        copyObject(plan, task[1], task[2]);
+                        break;
+                }
+            }
+            if (!fills.isEmpty()) {
+                fillInDependencyOrder();
+            }
+        }
+
+        /**
+         * Fills every container after all containers reachable from its pending entries, walking the copied graph
+         * with an explicit stack. Containers on a cycle are filled in the order the walk leaves them.
+         */
+        private void fillInDependencyOrder() {
+            Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            ArrayDeque<Frame> stack = new ArrayDeque<>();
+            for (Object container : new ArrayList<>(fills.keySet())) {
+                if (visited.add(container)) {
+                    stack.push(new Frame(container, referencesOf(container)));
+                }
+                while (!stack.isEmpty()) {
+                    Frame frame = stack.peek();
+                    if (frame.next < frame.references.length) {
+                        Object reference = frame.references[frame.next++];
+                        if (reference != null && visited.add(reference)) {
+                            stack.push(new Frame(reference, referencesOf(reference)));
+                        }
+                        continue;
+                    }
+                    stack.pop();
+                    Object[] fill = fills.get(frame.target);
+                    if (fill != null) {
+                        fill(fill);
+                    }
+                }
+            }
+        }
+
+        private Object[] referencesOf(Object target) {
+            Object[] fill = fills.get(target);
+            if (fill != null) {
+                Object[] keys = (Object[]) fill[1];
+                Object[] values = (Object[]) fill[2];
+                if (values == null) {
+                    return keys;
+                }
+                Object[] references = Arrays.copyOf(keys, keys.length + values.length);
+                System.arraycopy(values, 0, references, keys.length, values.length);
+                return references;
+            }
+            Plan plan = plans.get(target.getClass());
+            if (plan.kind == Kind.ARRAY) {
+                return (Object[]) target;
+            }
+            if (plan.kind != Kind.OBJECT || plan.deepOffsets.length == 0) {
+                return NO_REFERENCES;
+            }
+            Object[] references = new Object[plan.deepOffsets.length];
+            for (int i = 0; i < references.length; i++) {
+                references[i] = UnsafeAccess.getObjectField(target, plan.deepOffsets[i]);
+            }
+            return references;
+        }
+
+        private void copyArray(Object[] source, Object[] target) {
+            for (int i = 0; i < source.length; i++) {
+                target[i] = resolve(source[i]);
+            }
+        }
+
+        private void copyCollection(Collection<?> source, Object target) {
+            Object[] elements = source.toArray();
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = resolve(elements[i]);
+            }
+            fills.put(target, new Object[] { target, elements, null });
+        }
+
+        private void copyMap(Map<?, ?> source, Object target) {
+            Object[] keys = new Object[source.size()];
+            Object[] values = new Object[keys.length];
+            int i = 0;
+            for (Map.Entry<?, ?> entry : source.entrySet()) {
+                if (i == keys.length) {
+                    keys = Arrays.copyOf(keys, i * 2 + 1);
+                    values = Arrays.copyOf(values, keys.length);
+                }
+                keys[i] = resolve(entry.getKey());
+                values[i++] = resolve(entry.getValue());
+            }
+            fills.put(target, new Object[] { target, Arrays.copyOf(keys, i), Arrays.copyOf(values, i) });
+        }
+
+        private void copyObject(Plan plan, Object source, Object target) {
+            for (long offset : plan.deepOffsets) {
+                Object value = UnsafeAccess.getObjectField(source, offset);
+                if (value != null) {
+                    UnsafeAccess.putObjectField(target, offset, resolve(value));
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fill(Object[] fill) {
+            Object[] keys = (Object[]) fill[1];
+            Object[] values = (Object[]) fill[2];
+            Plan plan = plans.get(fill[0].getClass());
+            if (plan.kind == Kind.IMMUTABLE_SET || plan.kind == Kind.IMMUTABLE_MAP) {
+                rebuildImmutable(plan, fill[0], keys, values);
+                return;
+            }
+            if (values == null) {
+                Collection<Object> target = (Collection<Object>) fill[0];
+                target.addAll(Arrays.asList(keys));
+                return;
+            }
+            Map<Object, Object> target = (Map<Object, Object>) fill[0];
+            for (int i = 0; i < keys.length; i++) {
+                target.put(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Builds the immutable container through its factory, which hashes the copied entries, and moves the result into
+     * the already allocated target that the rest of the copy refers to.
+     */
+    @SuppressWarnings("unchecked")
+    private static void rebuildImmutable(Plan plan, Object target, Object[] keys, Object[] values) {
+        Object built;
+        if (values == null) {
+            built = Set.of(keys);
+        } else {
+            Map.Entry<Object, Object>[] entries = new Map.Entry[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                entries[i] = Map.entry(keys[i], values[i]);
+            }
+            built = Map.ofEntries(entries);
+        }
+        if (built.getClass() != target.getClass()) {
+            throw new ReflectionException("Cannot rebuild container " + target.getClass().getName());
+        }
+        plan.copier.copy(built, target);
+    }
+
+    private static final class Frame {
+        private final Object target;
+        private final Object[] references;
+        private int next;
+
+        Frame(Object target, Object[] references) {
+            this.target = target;
+            this.references = references;
+        }
+    }
+
+    private enum Kind {
+        SHARED, SHALLOW_ARRAY, ARRAY, COLLECTION, MAP, IMMUTABLE_SET, IMMUTABLE_MAP, OBJECT
+    }
+
+    private static final class Plan {
+        private final Kind kind;
+        private final Function<Object, Object> factory;
+        private final FieldCopier copier;
+        private final long[] deepOffsets;
+
+        Plan(Kind kind, Function<Object, Object> factory, FieldCopier copier, long[] deepOffsets) {
+            this.kind = kind;
+            this.factory = factory;
+            this.copier = copier;
+            this.deepOffsets = deepOffsets;
+        }
+    }
+
+    private static final class LinkedHashMapAccess {
+        private static final FieldAccessor<Boolean> ACCESS_ORDER = ZReflectionTool.getFieldAccessor(
+                LinkedHashMap.class, "accessOrder");
+
+        static boolean isAccessOrder(Object map) {
+            return ACCESS_ORDER.getBoolean(map);
+        }
+    }
+
+    public static final class Builder {
+        private final Set<Class<?>> sharedTypes = new HashSet<>();
+        private final Set<Field> sharedFields = new HashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder shareType(Class<?> type) {
+            sharedTypes.add(Objects.requireNonNull(type, "type"));
+            return this;
+        }
+
+        public Builder shareField(Class<?> owner, String fieldName) {
+            sharedFields.add(ZReflectionTool.findField(owner, fieldName));
+            return this;
+        }
+
+        public DeepCopier build() {
+            return new DeepCopier(this);
+        }
+    }
+}
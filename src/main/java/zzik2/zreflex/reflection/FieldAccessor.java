@@ -0,0 +1,568 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A field resolved once and bound to trusted method handles, with unboxed accessors for primitive fields.
+ *
+ * <p>
+ * Obtain an accessor through {@link ZReflectionTool#getFieldAccessor(Class, String)} and keep it in a
+ * {@code static final} field so the JIT can inline the underlying handles:
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * private static final FieldAccessor<Float> HEALTH = ZReflectionTool.getFieldAccessor(Entity.class, "health");
+ *
+ * float health = HEALTH.getFloat(entity);
+ * }
+ * </pre>
+ *
+ * <p>
+ * Accessors are created once per field. When ASM is on the classpath, which every mixin environment provides, the
+ * accessor is a generated subclass that reads its handles from {@code static final} fields, so a call through a
+ * {@code static final} accessor compiles down to a plain field access. Without ASM the handles are read from
+ * instance fields, which the JIT does not treat as constants.
+ * </p>
+ *
+ * <p>
+ * The typed accessors must match the declared field type exactly; for static fields the target is ignored. The
+ * atomic operations ({@code compareAndSet}, {@code getAndAdd}, {@code getAndSet}, {@code getAcquire} and
+ * {@code setRelease}) are bound lazily on first use and follow {@link VarHandle} semantics.
+ * </p>
+ *
+ * <p>
+ * The bulk {@code extractX}/{@code writeX} methods copy the field of every target in a list into or out of an
+ * array at the same index, without boxing for primitive fields. Lists above a few thousand elements are processed
+ * in parallel on the common fork-join pool.
+ * </p>
+ *
+ * @param <T> the field type, boxed for primitive fields
+ */
+public class FieldAccessor<T> {
+
+    private final Field field;
+    private final VarHandle handle;
+    private final boolean isStatic;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle genericGetter;
+    private final MethodHandle genericSetter;
+    private volatile AtomicHandles atomicHandles;
+
+    private FieldAccessor(Field field, VarHandle handle) {
+        this.field = field;
+        this.handle = handle;
+        this.isStatic = Modifier.isStatic(field.getModifiers());
+        Class<?> type = field.getType();
+        this.getter = adapt(handle, VarHandle.AccessMode.GET, isStatic, MethodType.methodType(type, Object.class));
+        this.setter = adapt(handle, VarHandle.AccessMode.SET, isStatic,
+                MethodType.methodType(void.class, Object.class, type));
+        this.genericGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        this.genericSetter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    protected FieldAccessor(FieldAccessor<T> template) {
+        this.field = template.field;
+        this.handle = template.handle;
+        this.isStatic = template.isStatic;
+        this.getter = template.getter;
+        this.setter = template.setter;
+        this.genericGetter = template.genericGetter;
+        this.genericSetter = template.genericSetter;
+    }
+
+    public static <T> FieldAccessor<T> of(Field field) {
+        return MemberIndex.of(field.getDeclaringClass()).bound(field, FieldAccessor::create);
+    }
+
+    private static <T> FieldAccessor<T> create(Field field) {
+        FieldAccessor<T> accessor;
+        try {
+            accessor = new FieldAccessor<>(field, UnsafeAccess.trustedLookup().unreflectVarHandle(field));
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Failed to create field accessor: " + field.getName(), e);
+        }
+        List<ConstantHandles.Binding> bindings = new ArrayList<>(4);
+        bindings.add(new ConstantHandles.Binding("get", accessor.genericGetter, "getFailure",
+                ConstantHandles.NO_GUARD));
+        bindings.add(new ConstantHandles.Binding("set", accessor.genericSetter, "setFailure",
+                ConstantHandles.NO_GUARD));
+        Class<?> type = field.getType();
+        if (type.isPrimitive()) {
+            String suffix = Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1);
+            bindings.add(new ConstantHandles.Binding("get" + suffix, accessor.getter, "getFailure",
+                    ConstantHandles.NO_GUARD));
+            bindings.add(new ConstantHandles.Binding("set" + suffix, accessor.setter, "setFailure",
+                    ConstantHandles.NO_GUARD));
+        }
+        return ConstantHandles.bind(accessor, field.getDeclaringClass(),
+                bindings.toArray(new ConstantHandles.Binding[0]));
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(Object target) {
+        try {
+            return (T) genericGetter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void set(Object target, T value) {
+        try {
+            genericSetter.invokeExact(target, (Object) value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public int getInt(Object target) {
+        try {
+            return (int) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setInt(Object target, int value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public long getLong(Object target) {
+        try {
+            return (long) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setLong(Object target, long value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public float getFloat(Object target) {
+        try {
+            return (float) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setFloat(Object target, float value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public double getDouble(Object target) {
+        try {
+            return (double) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setDouble(Object target, double value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public boolean getBoolean(Object target) {
+        try {
+            return (boolean) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setBoolean(Object target, boolean value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public byte getByte(Object target) {
+        try {
+            return (byte) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setByte(Object target, byte value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public short getShort(Object target) {
+        try {
+            return (short) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setShort(Object target, short value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public char getChar(Object target) {
+        try {
+            return (char) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setChar(Object target, char value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public boolean compareAndSet(Object target, T expected, T value) {
+        try {
+            return (boolean) atomicHandles().compareAndSet.invokeExact(target, (Object) expected, (Object) value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public boolean compareAndSetInt(Object target, int expected, int value) {
+        try {
+            return (boolean) atomicHandles().compareAndSetExact.invokeExact(target, expected, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public boolean compareAndSetLong(Object target, long expected, long value) {
+        try {
+            return (boolean) atomicHandles().compareAndSetExact.invokeExact(target, expected, value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getAndAdd(Object target, T delta) {
+        try {
+            return (T) atomicHandles().getAndAdd.invokeExact(target, (Object) delta);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public int getAndAddInt(Object target, int delta) {
+        try {
+            return (int) atomicHandles().getAndAddExact.invokeExact(target, delta);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public long getAndAddLong(Object target, long delta) {
+        try {
+            return (long) atomicHandles().getAndAddExact.invokeExact(target, delta);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getAndSet(Object target, T value) {
+        try {
+            return (T) atomicHandles().getAndSet.invokeExact(target, (Object) value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getAcquire(Object target) {
+        try {
+            return (T) atomicHandles().getAcquire.invokeExact(target);
+        } catch (Throwable e) {
+            throw getFailure(e);
+        }
+    }
+
+    public void setRelease(Object target, T value) {
+        try {
+            atomicHandles().setRelease.invokeExact(target, (Object) value);
+        } catch (Throwable e) {
+            throw setFailure(e);
+        }
+    }
+
+    public void extractInts(List<?> targets, int[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = getInt(list.get(i));
+            }
+        });
+    }
+
+    public void writeInts(List<?> targets, int[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                setInt(list.get(i), in[i]);
+            }
+        });
+    }
+
+    public void extractLongs(List<?> targets, long[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = getLong(list.get(i));
+            }
+        });
+    }
+
+    public void writeLongs(List<?> targets, long[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                setLong(list.get(i), in[i]);
+            }
+        });
+    }
+
+    public void extractFloats(List<?> targets, float[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = getFloat(list.get(i));
+            }
+        });
+    }
+
+    public void writeFloats(List<?> targets, float[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                setFloat(list.get(i), in[i]);
+            }
+        });
+    }
+
+    public void extractDoubles(List<?> targets, double[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = getDouble(list.get(i));
+            }
+        });
+    }
+
+    public void writeDoubles(List<?> targets, double[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                setDouble(list.get(i), in[i]);
+            }
+        });
+    }
+
+    public void extractBooleans(List<?> targets, boolean[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = getBoolean(list.get(i));
+            }
+        });
+    }
+
+    public void writeBooleans(List<?> targets, boolean[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                setBoolean(list.get(i), in[i]);
+            }
+        });
+    }
+
+    public void extractBytes(List<?> targets, byte[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = getByte(list.get(i));
+            }
+        });
+    }
+
+    public void writeBytes(List<?> targets, byte[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                setByte(list.get(i), in[i]);
+            }
+        });
+    }
+
+    public void extractShorts(List<?> targets, short[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = getShort(list.get(i));
+            }
+        });
+    }
+
+    public void writeShorts(List<?> targets, short[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                setShort(list.get(i), in[i]);
+            }
+        });
+    }
+
+    public void extractChars(List<?> targets, char[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = getChar(list.get(i));
+            }
+        });
+    }
+
+    public void writeChars(List<?> targets, char[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                setChar(list.get(i), in[i]);
+            }
+        });
+    }
+
+    public void extractValues(List<?> targets, T[] out) {
+        List<?> list = checkColumn(targets, out.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = get(list.get(i));
+            }
+        });
+    }
+
+    public void writeValues(List<?> targets, T[] in) {
+        List<?> list = checkColumn(targets, in.length);
+        ParallelRange.forEach(list.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                set(list.get(i), in[i]);
+            }
+        });
+    }
+
+    private AtomicHandles atomicHandles() {
+        AtomicHandles handles = atomicHandles;
+        if (handles == null) {
+            handles = new AtomicHandles(handle, isStatic, field.getType());
+            atomicHandles = handles;
+        }
+        return handles;
+    }
+
+    private List<?> checkColumn(List<?> targets, int length) {
+        if (length < targets.size()) {
+            throw new ReflectionException("Array of length " + length + " cannot hold field " + field.getName()
+                    + " of " + targets.size() + " targets");
+        }
+        return targets instanceof RandomAccess ? targets : Arrays.asList(targets.toArray());
+    }
+
+    protected final ReflectionException getFailure(Throwable cause) {
+        return new ReflectionException("Failed to get field value: " + field.getName(), cause);
+    }
+
+    protected final ReflectionException setFailure(Throwable cause) {
+        return new ReflectionException("Failed to set field value: " + field.getName(), cause);
+    }
+
+    private static MethodHandle adapt(VarHandle handle, VarHandle.AccessMode mode, boolean isStatic,
+            MethodType erasedType) {
+        MethodHandle accessor = handle.toMethodHandle(mode);
+        if (isStatic) {
+            accessor = MethodHandles.dropArguments(accessor, 0, Object.class);
+        }
+        return accessor.asType(erasedType);
+    }
+
+    private static final class AtomicHandles {
+        private final MethodHandle compareAndSet;
+        private final MethodHandle compareAndSetExact;
+        private final MethodHandle getAndAdd;
+        private final MethodHandle getAndAddExact;
+        private final MethodHandle getAndSet;
+        private final MethodHandle getAcquire;
+        private final MethodHandle setRelease;
+
+        AtomicHandles(VarHandle handle, boolean isStatic, Class<?> type) {
+            this.compareAndSetExact = adapt(handle, VarHandle.AccessMode.COMPARE_AND_SET, isStatic,
+                    MethodType.methodType(boolean.class, Object.class, type, type));
+            this.compareAndSet = compareAndSetExact.asType(MethodType.methodType(boolean.class, Object.class,
+                    Object.class, Object.class));
+            this.getAndAddExact = adapt(handle, VarHandle.AccessMode.GET_AND_ADD, isStatic,
+                    MethodType.methodType(type, Object.class, type));
+            this.getAndAdd = getAndAddExact.asType(MethodType.methodType(Object.class, Object.class, Object.class));
+            this.getAndSet = adapt(handle, VarHandle.AccessMode.GET_AND_SET, isStatic,
+                    MethodType.methodType(Object.class, Object.class, Object.class));
+            this.getAcquire = adapt(handle, VarHandle.AccessMode.GET_ACQUIRE, isStatic,
+                    MethodType.methodType(Object.class, Object.class));
+            this.setRelease = adapt(handle, VarHandle.AccessMode.SET_RELEASE, isStatic,
+                    MethodType.methodType(void.class, Object.class, Object.class));
+        }
+    }
+}
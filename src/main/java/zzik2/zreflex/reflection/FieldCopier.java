@@ -0,0 +1,114 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * A shallow copy plan for the instance fields of a class and all of its superclasses, compiled once per class.
+ *
+ * <p>
+ * Fields are grouped by storage width into offset tables, so a copy is one tight loop of raw reads and writes per
+ * width without boxing, access checks or per-field lookups. {@code float} and {@code double} fields are copied
+ * through their {@code int} and {@code long} bit patterns. Final fields are copied as well; static fields are not.
+ * </p>
+ */
+final class FieldCopier {
+
+    private static final ClassValue<FieldCopier> COPIERS = new ClassValue<FieldCopier>() {
+        @Override
+        protected FieldCopier computeValue(Class<?> type) {
+            return new FieldCopier(type);
+        }
+    };
+
+    private final Class<?> owner;
+    private final long[] referenceOffsets;
+    private final long[] longOffsets;
+    private final long[] intOffsets;
+    private final long[] shortOffsets;
+    private final long[] byteOffsets;
+
+    private FieldCopier(Class<?> owner) {
+        this.owner = owner;
+        OffsetTable references = new OffsetTable();
+        OffsetTable longs = new OffsetTable();
+        OffsetTable ints = new OffsetTable();
+        OffsetTable shorts = new OffsetTable();
+        OffsetTable bytes = new OffsetTable();
+        for (Class<?> current = owner; current != null; current = current.getSuperclass()) {
+            for (Field field : MemberIndex.of(current).getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> type = field.getType();
+                long offset = UnsafeAccess.getInstanceFieldOffset(field);
+                if (!type.isPrimitive()) {
+                    references.add(offset);
+                } else if (type == long.class || type == double.class) {
+                    longs.add(offset);
+                } else if (type == int.class || type == float.class) {
+                    ints.add(offset);
+                } else if (type == short.class || type == char.class) {
+                    shorts.add(offset);
+                } else {
+                    bytes.add(offset);
+                }
+            }
+        }
+        this.referenceOffsets = references.toArray();
+        this.longOffsets = longs.toArray();
+        this.intOffsets = ints.toArray();
+        this.shortOffsets = shorts.toArray();
+        this.byteOffsets = bytes.toArray();
+    }
+
+    static FieldCopier of(Class<?> clazz) {
+        return COPIERS.get(clazz);
+    }
+
+    void copy(Object source, Object destination) {
+        if (!owner.isInstance(source) || !owner.isInstance(destination)) {
+            throw new ReflectionException("Cannot copy fields of " + owner.getName() + " from "
+                    + describe(source) + " to " + describe(destination));
+        }
+        for (long offset : referenceOffsets) {
+            UnsafeAccess.putObjectField(destination, offset, UnsafeAccess.getObjectField(source, offset));
+        }
+        for (long offset : longOffsets) {
+            UnsafeAccess.putLongField(destination, offset, UnsafeAccess.getLongField(source, offset));
+        }
+        for (long offset : intOffsets) {
+            UnsafeAccess.putIntField(destination, offset, UnsafeAccess.getIntField(source, offset));
+        }
+        for (long offset : shortOffsets) {
+            UnsafeAccess.putShortField(destination, offset, UnsafeAccess.getShortField(source, offset));
+        }
+        for (long offset : byteOffsets) {
+            UnsafeAccess.putByteField(destination, offset, UnsafeAccess.getByteField(source, offset));
+        }
+    }
+
+    private static String describe(Object value) {
+        return value != null ? value.getClass().getName() : "null";
+    }
+
+    private static final class OffsetTable {
+        private long[] offsets = new long[4];
+        private int size;
+
+        void add(long offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(offsets, size);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.metrics.ZReflexMetrics;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A constructor resolved once and bound to a trusted method handle, with fixed-arity {@code createN} methods
+ * that allocate nothing beyond the new instance.
+ *
+ * <p>
+ * Unchecked exceptions thrown by the constructor propagate unchanged, checked ones are wrapped in a
+ * {@link ReflectionException}.
+ * </p>
+ *
+ * <p>
+ * Factories are created once per constructor. As with {@link FieldAccessor}, the factory is a generated subclass
+ * reading its handles from {@code static final} fields when ASM is on the classpath, so keep it in a
+ * {@code static final} field to let the JIT inline the allocation.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * private static final InstanceFactory<Packet> PACKET =
+ *         ZReflectionTool.getInstanceFactory(Packet.class, int.class, String.class);
+ *
+ * Packet packet = PACKET.create2(id, payload);
+ * }
+ * </pre>
+ *
+ * @param <T> the type of the created instances
+ */
+public class InstanceFactory<T> {
+
+    private final Constructor<T> constructor;
+    private final int arity;
+    private final MethodHandle handle;
+    private final MethodHandle spreader;
+    private final LongAdder invocations;
+
+    private InstanceFactory(Constructor<T> constructor, MethodHandle handle) {
+        this.constructor = constructor;
+        this.invocations = ZReflexMetrics.invocationCounter(constructor);
+        this.arity = constructor.getParameterCount();
+        this.handle = handle.asType(MethodType.genericMethodType(arity));
+        this.spreader = this.handle.asSpreader(Object[].class, arity);
+    }
+
+    protected InstanceFactory(InstanceFactory<T> template) {
+        this.constructor = template.constructor;
+        this.arity = template.arity;
+        this.handle = template.handle;
+        this.spreader = template.spreader;
+        this.invocations = template.invocations;
+    }
+
+    public static <T> InstanceFactory<T> of(Constructor<T> constructor) {
+        return MemberIndex.of(constructor.getDeclaringClass()).bound(constructor, InstanceFactory::create);
+    }
+
+    private static <T> InstanceFactory<T> create(Constructor<T> constructor) {
+        InstanceFactory<T> factory;
+        try {
+            factory = new InstanceFactory<>(constructor,
+                    UnsafeAccess.trustedLookup().unreflectConstructor(constructor).asFixedArity());
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Failed to create instance factory for: "
+                    + constructor.getDeclaringClass().getName(), e);
+        }
+        ConstantHandles.Binding spread = new ConstantHandles.Binding("create", factory.spreader, "rethrow",
+                ConstantHandles.GUARD_ARRAY_LENGTH);
+        if (factory.arity > 6) {
+            return ConstantHandles.bind(factory, constructor.getDeclaringClass(), spread);
+        }
+        return ConstantHandles.bind(factory, constructor.getDeclaringClass(), spread,
+                new ConstantHandles.Binding("create" + factory.arity, factory.handle, "rethrow", factory.arity));
+    }
+
+    public Constructor<T> getConstructor() {
+        return constructor;
+    }
+
+    public int getParameterCount() {
+        return arity;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T create0() {
+        beforeInvoke(0);
+        try {
+            return (T) handle.invokeExact();
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T create1(Object a) {
+        beforeInvoke(1);
+        try {
+            return (T) handle.invokeExact(a);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T create2(Object a, Object b) {
+        beforeInvoke(2);
+        try {
+            return (T) handle.invokeExact(a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T create3(Object a, Object b, Object c) {
+        beforeInvoke(3);
+        try {
+            return (T) handle.invokeExact(a, b, c);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T create4(Object a, Object b, Object c, Object d) {
+        beforeInvoke(4);
+        try {
+            return (T) handle.invokeExact(a, b, c, d);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T create5(Object a, Object b, Object c, Object d, Object e) {
+        beforeInvoke(5);
+        try {
+            return (T) handle.invokeExact(a, b, c, d, e);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T create6(Object a, Object b, Object c, Object d, Object e, Object f) {
+        beforeInvoke(6);
+        try {
+            return (T) handle.invokeExact(a, b, c, d, e, f);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T create(Object... args) {
+        beforeInvoke(args.length);
+        try {
+            return (T) spreader.invokeExact(args);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    protected final void beforeInvoke(int provided) {
+        if (provided != arity) {
+            throw new ReflectionException("Constructor of " + constructor.getDeclaringClass().getName() + " expects "
+                    + arity + " arguments but got " + provided);
+        }
+        if (ZReflexMetrics.ENABLED) {
+            invocations.increment();
+        }
+    }
+
+    protected final RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new ReflectionException("Failed to create instance of: " + constructor.getDeclaringClass().getName(),
+                cause);
+    }
+}
@@ -0,0 +1,589 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.metrics.MemberResolveEvent;
+import zzik2.zreflex.metrics.ZReflexMetrics;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-class cache of declared and resolved members backing the lookups in {@link ZReflectionTool}.
+ *
+ * <p>
+ * Declared member tables are read once per class and per member kind, so a class whose methods reference
+ * missing types can still have its fields resolved. Resolved lookups are stored in concurrent maps, which
+ * makes a repeated lookup a single hash probe without locking. Misses are cached as well and reported as
+ * {@code null} instead of an exception, so probing for a member that does not exist costs the same as a hit.
+ * </p>
+ *
+ * <p>
+ * Lookups by argument types consider every applicable method in the hierarchy and pick the most specific one
+ * through {@link OverloadResolver}; the result is cached per class, name and argument type tuple, so dynamic calls
+ * with the same runtime argument classes resolve with one probe. The fixed-arity dynamic entry points additionally
+ * keep an {@link ArgumentTypeCache} of compiled invokers per name, which matches argument classes without
+ * allocating, and field accessors are kept per name so the by-name atomic operations share one set of
+ * {@code VarHandle}-backed handles. Accessors, invokers and factories bound to a member declared by this class
+ * are kept per member, since each of them may carry a generated class. Tuples holding a type from a loader this
+ * class cannot see are resolved on every call rather than cached, so the index never pins a foreign loader.
+ * </p>
+ *
+ * <p>
+ * When a {@link PersistentMemberIndex} is attached, cache misses are first answered from its records and every
+ * fresh resolution is recorded into it.
+ * </p>
+ */
+final class MemberIndex {
+
+    private static final ClassValue<MemberIndex> INDEX = new ClassValue<MemberIndex>() {
+        @Override
+        protected MemberIndex computeValue(Class<?> type) {
+            return new MemberIndex(type);
+        }
+    };
+
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+    private static final Object MISSING = new Object();
+
+    private static volatile PersistentMemberIndex persistentIndex;
+
+    private final Class<?> owner;
+
+    private volatile Field[] declaredFieldArray;
+    private volatile Map<String, Field> declaredFields;
+    private volatile Map<String, Method[]> declaredMethods;
+    private volatile Constructor<?>[] declaredConstructors;
+    private volatile Class<?>[] declaredClasses;
+
+    private final ConcurrentHashMap<String, Object> fields = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Signature, Object> methods = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Signature, Object> exactMethods = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Signature, Object> constructors = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Signature, Object> exactConstructors = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> classes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> accessors = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ArgumentTypeCache<MethodInvoker>> invokers = new ConcurrentHashMap<>();
+    private final ArgumentTypeCache<InstanceFactory<?>> factories = new ArgumentTypeCache<>();
+    private final ConcurrentHashMap<Member, Object> bound = new ConcurrentHashMap<>();
+
+    private MemberIndex(Class<?> owner) {
+        this.owner = owner;
+    }
+
+    static MemberIndex of(Class<?> clazz) {
+        return INDEX.get(clazz);
+    }
+
+    static void setPersistentIndex(PersistentMemberIndex index) {
+        persistentIndex = index;
+    }
+
+    /**
+     * Every field this class declares, including fields that share a name with another one, which bytecode allows
+     * and obfuscated classes use.
+     */
+    Collection<Field> getDeclaredFields() {
+        return Collections.unmodifiableList(Arrays.asList(declaredFieldArray()));
+    }
+
+    Field findField(String name) {
+        Object cached = fields.get(name);
+        if (cached == null) {
+            long start = ZReflexMetrics.startResolve();
+            MemberResolveEvent event = ZReflexMetrics.isRecording() ? MemberResolveEvent.start() : null;
+            cached = loadField(name);
+            ZReflexMetrics.recordResolve(start);
+            if (event != null) {
+                event.complete(owner, "field", name, null, cached != MISSING);
+            }
+        } else {
+            ZReflexMetrics.recordHit(cached == MISSING);
+        }
+        return unwrap(cached);
+    }
+
+    Method findMethod(String name, Class<?>[] paramTypes) {
+        Class<?>[] types = normalize(paramTypes);
+        Object cached = methods.get(new Signature(name, types));
+        if (cached == null) {
+            long start = ZReflexMetrics.startResolve();
+            MemberResolveEvent event = ZReflexMetrics.isRecording() ? MemberResolveEvent.start() : null;
+            cached = orMissing(seeded('M', name, types, () -> resolveMethod(name, types),
+                    value -> PersistentMemberIndex.decodeMethod(owner, name, value)));
+            if (isCacheable(types)) {
+                methods.putIfAbsent(new Signature(name, types.clone()), cached);
+            }
+            ZReflexMetrics.recordResolve(start);
+            if (event != null) {
+                event.complete(owner, "method", name, types, cached != MISSING);
+            }
+        } else {
+            ZReflexMetrics.recordHit(cached == MISSING);
+        }
+        return unwrap(cached);
+    }
+
+    Method findMethodExact(String name, Class<?>[] paramTypes) {
+        Class<?>[] types = normalize(paramTypes);
+        Object cached = exactMethods.get(new Signature(name, types));
+        if (cached == null) {
+            long start = ZReflexMetrics.startResolve();
+            MemberResolveEvent event = ZReflexMetrics.isRecording() ? MemberResolveEvent.start() : null;
+            cached = loadMethodExact(name, types);
+            ZReflexMetrics.recordResolve(start);
+            if (event != null) {
+                event.complete(owner, "method", name, types, cached != MISSING);
+            }
+        } else {
+            ZReflexMetrics.recordHit(cached == MISSING);
+        }
+        return unwrap(cached);
+    }
+
+    Constructor<?> findConstructor(Class<?>[] paramTypes) {
+        Class<?>[] types = normalize(paramTypes);
+        Object cached = constructors.get(new Signature(null, types));
+        if (cached == null) {
+            long start = ZReflexMetrics.startResolve();
+            MemberResolveEvent event = ZReflexMetrics.isRecording() ? MemberResolveEvent.start() : null;
+            cached = orMissing(seeded('C', null, types, () -> resolveConstructor(types, false),
+                    value -> PersistentMemberIndex.decodeConstructor(owner, value)));
+            if (isCacheable(types)) {
+                constructors.putIfAbsent(new Signature(null, types.clone()), cached);
+            }
+            ZReflexMetrics.recordResolve(start);
+            if (event != null) {
+                event.complete(owner, "constructor", null, types, cached != MISSING);
+            }
+        } else {
+            ZReflexMetrics.recordHit(cached == MISSING);
+        }
+        return unwrap(cached);
+    }
+
+    Constructor<?> findConstructorExact(Class<?>[] paramTypes) {
+        Class<?>[] types = normalize(paramTypes);
+        Object cached = exactConstructors.get(new Signature(null, types));
+        if (cached == null) {
+            long start = ZReflexMetrics.startResolve();
+            MemberResolveEvent event = ZReflexMetrics.isRecording() ? MemberResolveEvent.start() : null;
+            cached = orMissing(seeded('K', null, types, () -> resolveConstructor(types, true),
+                    value -> PersistentMemberIndex.decodeConstructor(owner, value)));
+            if (isCacheable(types)) {
+                exactConstructors.putIfAbsent(new Signature(null, types.clone()), cached);
+            }
+            ZReflexMetrics.recordResolve(start);
+            if (event != null) {
+                event.complete(owner, "constructor", null, types, cached != MISSING);
+            }
+        } else {
+            ZReflexMetrics.recordHit(cached == MISSING);
+        }
+        return unwrap(cached);
+    }
+
+    Class<?> findDeclaredClass(String simpleName) {
+        Object cached = classes.get(simpleName);
+        if (cached == null) {
+            long start = ZReflexMetrics.startResolve();
+            MemberResolveEvent event = ZReflexMetrics.isRecording() ? MemberResolveEvent.start() : null;
+            cached = orMissing(resolveDeclaredClass(simpleName));
+            classes.putIfAbsent(simpleName, cached);
+            ZReflexMetrics.recordResolve(start);
+            if (event != null) {
+                event.complete(owner, "class", simpleName, null, cached != MISSING);
+            }
+        } else {
+            ZReflexMetrics.recordHit(cached == MISSING);
+        }
+        return unwrap(cached);
+    }
+
+    FieldAccessor<?> findAccessor(String name) {
+        Object cached = accessors.get(name);
+        if (cached == null) {
+            Field field = findField(name);
+            cached = field != null ? FieldAccessor.of(field) : MISSING;
+            Object previous = accessors.putIfAbsent(name, cached);
+            if (previous != null) {
+                cached = previous;
+            }
+        }
+        return unwrap(cached);
+    }
+
+    @SuppressWarnings("unchecked")
+    <M extends Member, B> B bound(M member, Function<M, B> binder) {
+        Object cached = bound.get(member);
+        if (cached == null) {
+            cached = binder.apply(member);
+            Object previous = bound.putIfAbsent(member, cached);
+            if (previous != null) {
+                cached = previous;
+            }
+        }
+        return (B) cached;
+    }
+
+    MethodInvoker findInvoker(String name, int count, Object a, Object b, Object c, Object d) {
+        ArgumentTypeCache<MethodInvoker> cache = invokers.get(name);
+        if (cache == null) {
+            cache = invokers.computeIfAbsent(name, key -> new ArgumentTypeCache<>());
+        }
+        MethodInvoker invoker = cache.find(count, a, b, c, d);
+        return invoker != null ? invoker : resolveInvoker(cache, name, ArgumentTypeCache.typesOf(count, a, b, c, d));
+    }
+
+    InstanceFactory<?> findFactory(int count, Object a, Object b, Object c, Object d) {
+        InstanceFactory<?> factory = factories.find(count, a, b, c, d);
+        return factory != null ? factory : resolveFactory(ArgumentTypeCache.typesOf(count, a, b, c, d));
+    }
+
+    private MethodInvoker resolveInvoker(ArgumentTypeCache<MethodInvoker> cache, String name, Class<?>[] types) {
+        Method method = findMethod(name, types);
+        if (method == null) {
+            return null;
+        }
+        MethodInvoker invoker = MethodInvoker.of(method);
+        if (isCacheable(types)) {
+            cache.add(types, invoker);
+        }
+        return invoker;
+    }
+
+    private InstanceFactory<?> resolveFactory(Class<?>[] types) {
+        Constructor<?> constructor = findConstructor(types);
+        if (constructor == null) {
+            return null;
+        }
+        InstanceFactory<?> factory = InstanceFactory.of(constructor);
+        if (isCacheable(types)) {
+            factories.add(types, factory);
+        }
+        return factory;
+    }
+
+    void preloadDeclared() {
+        declaredFields();
+        declaredMethods();
+        declaredConstructors();
+        declaredClasses();
+    }
+
+    void preload() {
+        preloadDeclared();
+        for (String name : declaredFields().keySet()) {
+            findField(name);
+        }
+        for (Method[] overloads : declaredMethods().values()) {
+            for (Method method : overloads) {
+                findMethodExact(method.getName(), method.getParameterTypes());
+                findMethod(method.getName(), argumentTypes(method.getParameterTypes()));
+            }
+        }
+        for (Constructor<?> constructor : declaredConstructors()) {
+            findConstructorExact(constructor.getParameterTypes());
+            findConstructor(argumentTypes(constructor.getParameterTypes()));
+        }
+    }
+
+    /**
+     * Warms every cache a call to the given member reads: the lookups by declared and by argument types, the
+     * per-name invoker or factory cache of the fixed-arity entry points, and the bound accessor, invoker or factory.
+     */
+    void preload(Member member) {
+        if (member instanceof Field) {
+            findAccessor(member.getName());
+            return;
+        }
+        Class<?>[] parameterTypes = member instanceof Method ? ((Method) member).getParameterTypes()
+                : ((Constructor<?>) member).getParameterTypes();
+        Class<?>[] types = argumentTypes(parameterTypes);
+        if (member instanceof Method) {
+            findMethodExact(member.getName(), parameterTypes);
+            MethodInvoker.of((Method) member);
+            if (types.length <= 4) {
+                resolveInvoker(invokers.computeIfAbsent(member.getName(), key -> new ArgumentTypeCache<>()),
+                        member.getName(), types);
+            } else {
+                findMethod(member.getName(), types);
+            }
+        } else {
+            findConstructorExact(parameterTypes);
+            InstanceFactory.of((Constructor<?>) member);
+            if (types.length <= 4) {
+                resolveFactory(types);
+            } else {
+                findConstructor(types);
+            }
+        }
+    }
+
+    /**
+     * The runtime argument classes that match the given parameters exactly, which is what the dynamic lookups are
+     * keyed by.
+     */
+    private static Class<?>[] argumentTypes(Class<?>[] parameterTypes) {
+        Class<?>[] types = parameterTypes.clone();
+        for (int i = 0; i < types.length; i++) {
+            types[i] = ZReflectionTool.getWrapperType(types[i]);
+        }
+        return types;
+    }
+
+    private <M extends Member> M seeded(char kind, String name, Class<?>[] types, Supplier<M> resolver,
+            RecordDecoder<M> decoder) {
+        PersistentMemberIndex index = persistentIndex;
+        PersistentMemberIndex.ClassEntry entry = index != null ? index.entryFor(owner) : null;
+        if (entry == null) {
+            return resolver.get();
+        }
+        String key = PersistentMemberIndex.key(kind, name, types);
+        String recorded = entry.get(key);
+        if (recorded != null) {
+            try {
+                return decoder.decode(recorded);
+            } catch (ReflectiveOperationException | LinkageError ignored) {
+                // The recorded member is gone; resolve it again and overwrite the record.
+            }
+        }
+        M member = resolver.get();
+        entry.put(key, PersistentMemberIndex.describe(member));
+        return member;
+    }
+
+    /**
+     * Resolves and caches a field without recording metrics, so a lookup walking up the superclass chain is counted
+     * once by the call that started it.
+     */
+    private Object loadField(String name) {
+        Object cached = fields.get(name);
+        if (cached == null) {
+            cached = orMissing(seeded('F', name, null, () -> resolveField(name),
+                    value -> PersistentMemberIndex.decodeField(owner, name, value)));
+            Object previous = fields.putIfAbsent(name, cached);
+            if (previous != null) {
+                cached = previous;
+            }
+        }
+        return cached;
+    }
+
+    private Object loadMethodExact(String name, Class<?>[] types) {
+        Object cached = exactMethods.get(new Signature(name, types));
+        if (cached == null) {
+            cached = orMissing(seeded('E', name, types, () -> resolveMethodExact(name, types),
+                    value -> PersistentMemberIndex.decodeMethod(owner, name, value)));
+            if (isCacheable(types)) {
+                Object previous = exactMethods.putIfAbsent(new Signature(name, types.clone()), cached);
+                if (previous != null) {
+                    cached = previous;
+                }
+            }
+        }
+        return cached;
+    }
+
+    private Field resolveField(String name) {
+        Field field = declaredFields().get(name);
+        if (field != null) {
+            return field;
+        }
+        Class<?> superclass = owner.getSuperclass();
+        return superclass != null ? unwrap(of(superclass).loadField(name)) : null;
+    }
+
+    private Method resolveMethod(String name, Class<?>[] paramTypes) {
+        List<Method> applicable = new ArrayList<>(2);
+        for (Class<?> current = owner; current != null; current = current.getSuperclass()) {
+            Method[] candidates = of(current).declaredMethods().get(name);
+            if (candidates == null) {
+                continue;
+            }
+            for (Method candidate : candidates) {
+                if (!candidate.isBridge() && ZReflectionTool.isAssignable(candidate.getParameterTypes(), paramTypes)
+                        && !isOverridden(candidate, applicable)) {
+                    applicable.add(candidate);
+                }
+            }
+        }
+        return OverloadResolver.mostSpecific(applicable);
+    }
+
+    private Method resolveMethodExact(String name, Class<?>[] paramTypes) {
+        Method result = null;
+        Method[] candidates = declaredMethods().get(name);
+        if (candidates != null) {
+            for (Method candidate : candidates) {
+                if (Arrays.equals(candidate.getParameterTypes(), paramTypes) && (result == null
+                        || result.getReturnType().isAssignableFrom(candidate.getReturnType()))) {
+                    result = candidate;
+                }
+            }
+        }
+        if (result != null) {
+            return result;
+        }
+        Class<?> superclass = owner.getSuperclass();
+        return superclass != null ? unwrap(of(superclass).loadMethodExact(name, paramTypes)) : null;
+    }
+
+    private Class<?> resolveDeclaredClass(String simpleName) {
+        for (Class<?> candidate : declaredClasses()) {
+            if (candidate.getSimpleName().equals(simpleName)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private Constructor<?> resolveConstructor(Class<?>[] paramTypes, boolean exact) {
+        List<Constructor<?>> applicable = new ArrayList<>(2);
+        for (Constructor<?> candidate : declaredConstructors()) {
+            Class<?>[] declared = candidate.getParameterTypes();
+            if (exact ? Arrays.equals(declared, paramTypes) : ZReflectionTool.isAssignable(declared, paramTypes)) {
+                applicable.add(candidate);
+            }
+        }
+        return OverloadResolver.mostSpecific(applicable);
+    }
+
+    private static boolean isOverridden(Method candidate, List<Method> found) {
+        for (Method method : found) {
+            if (Arrays.equals(method.getParameterTypes(), candidate.getParameterTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Field[] declaredFieldArray() {
+        Field[] table = declaredFieldArray;
+        if (table == null) {
+            table = owner.getDeclaredFields();
+            declaredFieldArray = table;
+        }
+        return table;
+    }
+
+    Map<String, Field> declaredFields() {
+        Map<String, Field> table = declaredFields;
+        if (table == null) {
+            Field[] declared = declaredFieldArray();
+            table = new HashMap<>(declared.length * 2);
+            for (Field field : declared) {
+                table.putIfAbsent(field.getName(), field);
+            }
+            declaredFields = table;
+        }
+        return table;
+    }
+
+    Map<String, Method[]> declaredMethods() {
+        Map<String, Method[]> table = declaredMethods;
+        if (table == null) {
+            Map<String, List<Method>> grouped = new HashMap<>();
+            for (Method method : owner.getDeclaredMethods()) {
+                grouped.computeIfAbsent(method.getName(), key -> new ArrayList<>(1)).add(method);
+            }
+            table = new HashMap<>(grouped.size() * 2);
+            for (Map.Entry<String, List<Method>> entry : grouped.entrySet()) {
+                table.put(entry.getKey(), entry.getValue().toArray(new Method[0]));
+            }
+            declaredMethods = table;
+        }
+        return table;
+    }
+
+    Constructor<?>[] declaredConstructors() {
+        Constructor<?>[] table = declaredConstructors;
+        if (table == null) {
+            table = owner.getDeclaredConstructors();
+            declaredConstructors = table;
+        }
+        return table;
+    }
+
+    private Class<?>[] declaredClasses() {
+        Class<?>[] table = declaredClasses;
+        if (table == null) {
+            table = owner.getDeclaredClasses();
+            declaredClasses = table;
+        }
+        return table;
+    }
+
+    /**
+     * Whether a key holding these types may be kept in this index. The index lives as long as the class, so types
+     * from a loader the class cannot see, such as a mod's arguments passed to a JDK collection, are resolved on
+     * every call instead of pinning their loader for the life of the class.
+     */
+    private boolean isCacheable(Class<?>[] types) {
+        ClassLoader loader = owner.getClassLoader();
+        for (Class<?> type : types) {
+            if (type != null && !ConstantHandles.isAncestor(type.getClassLoader(), loader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object orMissing(Object member) {
+        return member != null ? member : MISSING;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <M> M unwrap(Object cached) {
+        return cached != MISSING ? (M) cached : null;
+    }
+
+    private static Class<?>[] normalize(Class<?>[] paramTypes) {
+        return paramTypes != null ? paramTypes : NO_TYPES;
+    }
+
+    @FunctionalInterface
+    private interface RecordDecoder<M> {
+        M decode(String value) throws ReflectiveOperationException;
+    }
+
+    private static final class Signature {
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final int hash;
+
+        Signature(String name, Class<?>[] parameterTypes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.hash = (name != null ? name.hashCode() * 31 : 0) + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Signature)) {
+                return false;
+            }
+            Signature that = (Signature) other;
+            return hash == that.hash && (name == null ? that.name == null : name.equals(that.name))
+                    && Arrays.equals(parameterTypes, that.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
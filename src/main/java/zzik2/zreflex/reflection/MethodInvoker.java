@@ -0,0 +1,354 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.metrics.ZReflexMetrics;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A method resolved once and bound to a trusted method handle, with fixed-arity entry points that avoid the
+ * argument array and {@code InvocationTargetException} wrapping of {@link Method#invoke(Object, Object...)}.
+ *
+ * <p>
+ * Use the {@code invokeN} method matching the parameter count of the method; for static methods the target is
+ * ignored. Methods returning {@code int}, {@code long}, {@code float}, {@code double} or {@code boolean} with up to
+ * two parameters can be called through the typed {@code invokeIntN}-style methods, which do not box the result;
+ * the type must match the declared return type exactly. Unchecked exceptions thrown by the method propagate
+ * unchanged, checked ones are wrapped in a {@link ReflectionException}.
+ * </p>
+ *
+ * <p>
+ * Invokers are created once per method. As with {@link FieldAccessor}, the invoker is a generated subclass reading
+ * its handles from {@code static final} fields when ASM is on the classpath, so keep it in a {@code static final}
+ * field to let the JIT inline the call.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * private static final MethodInvoker TICK = ZReflectionTool.getMethodInvoker(Entity.class, "tick", int.class);
+ *
+ * TICK.invoke1(entity, 20);
+ * }
+ * </pre>
+ */
+public class MethodInvoker {
+
+    private final Method method;
+    private final int arity;
+    private final MethodHandle handle;
+    private final MethodHandle spreader;
+    private final MethodHandle primitive;
+    private final LongAdder invocations;
+
+    private MethodInvoker(Method method, MethodHandle handle) {
+        this.method = method;
+        this.invocations = ZReflexMetrics.invocationCounter(method);
+        this.arity = method.getParameterCount();
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        MethodType generic = MethodType.genericMethodType(arity + 1);
+        Class<?> returnType = method.getReturnType();
+        this.handle = handle.asType(generic);
+        this.spreader = this.handle.asSpreader(Object[].class, arity);
+        this.primitive = returnType.isPrimitive() && returnType != void.class
+                ? handle.asType(generic.changeReturnType(returnType)) : null;
+    }
+
+    protected MethodInvoker(MethodInvoker template) {
+        this.method = template.method;
+        this.arity = template.arity;
+        this.handle = template.handle;
+        this.spreader = template.spreader;
+        this.primitive = template.primitive;
+        this.invocations = template.invocations;
+    }
+
+    public static MethodInvoker of(Method method) {
+        return MemberIndex.of(method.getDeclaringClass()).bound(method, MethodInvoker::create);
+    }
+
+    private static MethodInvoker create(Method method) {
+        MethodInvoker invoker;
+        try {
+            invoker = new MethodInvoker(method, UnsafeAccess.trustedLookup().unreflect(method).asFixedArity());
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Failed to create method invoker: " + method.getName(), e);
+        }
+        List<ConstantHandles.Binding> bindings = new ArrayList<>(3);
+        bindings.add(new ConstantHandles.Binding("invoke", invoker.spreader, "rethrow",
+                ConstantHandles.GUARD_ARRAY_LENGTH));
+        if (invoker.arity <= 6) {
+            bindings.add(new ConstantHandles.Binding("invoke" + invoker.arity, invoker.handle, "rethrow",
+                    invoker.arity));
+        }
+        Class<?> returnType = method.getReturnType();
+        if (invoker.arity <= 2 && (returnType == int.class || returnType == long.class || returnType == float.class
+                || returnType == double.class || returnType == boolean.class)) {
+            String suffix = Character.toUpperCase(returnType.getName().charAt(0)) + returnType.getName().substring(1);
+            bindings.add(new ConstantHandles.Binding("invoke" + suffix + invoker.arity, invoker.primitive, "rethrow",
+                    invoker.arity));
+        }
+        return ConstantHandles.bind(invoker, method.getDeclaringClass(),
+                bindings.toArray(new ConstantHandles.Binding[0]));
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public int getParameterCount() {
+        return arity;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invoke0(Object target) {
+        beforeInvoke(0);
+        try {
+            return (T) handle.invokeExact(target);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invoke1(Object target, Object a) {
+        beforeInvoke(1);
+        try {
+            return (T) handle.invokeExact(target, a);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invoke2(Object target, Object a, Object b) {
+        beforeInvoke(2);
+        try {
+            return (T) handle.invokeExact(target, a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invoke3(Object target, Object a, Object b, Object c) {
+        beforeInvoke(3);
+        try {
+            return (T) handle.invokeExact(target, a, b, c);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invoke4(Object target, Object a, Object b, Object c, Object d) {
+        beforeInvoke(4);
+        try {
+            return (T) handle.invokeExact(target, a, b, c, d);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invoke5(Object target, Object a, Object b, Object c, Object d, Object e) {
+        beforeInvoke(5);
+        try {
+            return (T) handle.invokeExact(target, a, b, c, d, e);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invoke6(Object target, Object a, Object b, Object c, Object d, Object e, Object f) {
+        beforeInvoke(6);
+        try {
+            return (T) handle.invokeExact(target, a, b, c, d, e, f);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invoke(Object target, Object... args) {
+        beforeInvoke(args.length);
+        try {
+            return (T) spreader.invokeExact(target, args);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public int invokeInt0(Object target) {
+        beforeInvoke(0);
+        try {
+            return (int) primitive(int.class).invokeExact(target);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public int invokeInt1(Object target, Object a) {
+        beforeInvoke(1);
+        try {
+            return (int) primitive(int.class).invokeExact(target, a);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public int invokeInt2(Object target, Object a, Object b) {
+        beforeInvoke(2);
+        try {
+            return (int) primitive(int.class).invokeExact(target, a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public long invokeLong0(Object target) {
+        beforeInvoke(0);
+        try {
+            return (long) primitive(long.class).invokeExact(target);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public long invokeLong1(Object target, Object a) {
+        beforeInvoke(1);
+        try {
+            return (long) primitive(long.class).invokeExact(target, a);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public long invokeLong2(Object target, Object a, Object b) {
+        beforeInvoke(2);
+        try {
+            return (long) primitive(long.class).invokeExact(target, a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public float invokeFloat0(Object target) {
+        beforeInvoke(0);
+        try {
+            return (float) primitive(float.class).invokeExact(target);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public float invokeFloat1(Object target, Object a) {
+        beforeInvoke(1);
+        try {
+            return (float) primitive(float.class).invokeExact(target, a);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public float invokeFloat2(Object target, Object a, Object b) {
+        beforeInvoke(2);
+        try {
+            return (float) primitive(float.class).invokeExact(target, a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public double invokeDouble0(Object target) {
+        beforeInvoke(0);
+        try {
+            return (double) primitive(double.class).invokeExact(target);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public double invokeDouble1(Object target, Object a) {
+        beforeInvoke(1);
+        try {
+            return (double) primitive(double.class).invokeExact(target, a);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public double invokeDouble2(Object target, Object a, Object b) {
+        beforeInvoke(2);
+        try {
+            return (double) primitive(double.class).invokeExact(target, a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public boolean invokeBoolean0(Object target) {
+        beforeInvoke(0);
+        try {
+            return (boolean) primitive(boolean.class).invokeExact(target);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public boolean invokeBoolean1(Object target, Object a) {
+        beforeInvoke(1);
+        try {
+            return (boolean) primitive(boolean.class).invokeExact(target, a);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public boolean invokeBoolean2(Object target, Object a, Object b) {
+        beforeInvoke(2);
+        try {
+            return (boolean) primitive(boolean.class).invokeExact(target, a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    protected final void beforeInvoke(int provided) {
+        if (provided != arity) {
+            throw new ReflectionException("Method " + method.getName() + " expects " + arity + " arguments but got "
+                    + provided);
+        }
+        if (ZReflexMetrics.ENABLED) {
+            invocations.increment();
+        }
+    }
+
+    private MethodHandle primitive(Class<?> type) {
+        if (method.getReturnType() != type) {
+            throw new ReflectionException("Method " + method.getName() + " returns "
+                    + method.getReturnType().getName() + ", not " + type.getName());
+        }
+        return primitive;
+    }
+
+    protected final RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new ReflectionException("Failed to invoke method: " + method.getName(), cause);
+    }
+}
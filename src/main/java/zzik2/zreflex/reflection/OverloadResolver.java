@@ -0,0 +1,65 @@
+package zzik2.zreflex.reflection;
+
+import java.lang.reflect.Executable;
+import java.util.List;
+
+/**
+ * Selects the most specific overload among the members applicable to a set of argument types.
+ *
+ * <p>
+ * A candidate is more specific than another when each of its parameter types is assignable to the other's. A
+ * reference type is preferred over a primitive type with the same wrapper, and a primitive type over any other
+ * reference type it boxes to, mirroring how a boxed runtime argument would bind in source code. When no single
+ * candidate is more specific than all others, the first candidate in lookup order wins.
+ * </p>
+ */
+final class OverloadResolver {
+
+    private OverloadResolver() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static <E extends Executable> E mostSpecific(List<E> candidates) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        E best = candidates.get(0);
+        for (int i = 1; i < candidates.size(); i++) {
+            E candidate = candidates.get(i);
+            if (isMoreSpecific(candidate.getParameterTypes(), best.getParameterTypes())) {
+                best = candidate;
+            }
+        }
+        for (E candidate : candidates) {
+            if (candidate != best && !isMoreSpecific(best.getParameterTypes(), candidate.getParameterTypes())) {
+                return candidates.get(0);
+            }
+        }
+        return best;
+    }
+
+    static boolean isMoreSpecific(Class<?>[] first, Class<?>[] second) {
+        boolean strictlyMore = false;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                continue;
+            }
+            if (!isMoreSpecific(first[i], second[i])) {
+                return false;
+            }
+            strictlyMore = true;
+        }
+        return strictlyMore;
+    }
+
+    private static boolean isMoreSpecific(Class<?> first, Class<?> second) {
+        if (first.isPrimitive() == second.isPrimitive()) {
+            return !first.isPrimitive() && second.isAssignableFrom(first);
+        }
+        if (first.isPrimitive()) {
+            Class<?> wrapper = ZReflectionTool.getWrapperType(first);
+            return wrapper != second && second.isAssignableFrom(wrapper);
+        }
+        return first == ZReflectionTool.getWrapperType(second);
+    }
+}
@@ -0,0 +1,68 @@
+package zzik2.zreflex.reflection;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs an action over an index range, splitting it across the common {@link ForkJoinPool} once the range is large
+ * enough to pay for the fork overhead.
+ *
+ * <p>
+ * Ranges at or below {@link #PARALLEL_THRESHOLD} run inline on the calling thread. Larger ranges are split in
+ * halves down to chunks of roughly a quarter of the per-worker share, but never below {@link #MIN_CHUNK}.
+ * </p>
+ */
+final class ParallelRange {
+
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+    static final int MIN_CHUNK = 1 << 10;
+
+    private ParallelRange() {
+    }
+
+    static void forEach(int size, Action action) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (size <= PARALLEL_THRESHOLD || pool.getParallelism() <= 1) {
+            action.run(0, size);
+            return;
+        }
+        forEach(pool, size, Math.max(MIN_CHUNK, size / (pool.getParallelism() * 4)), action);
+    }
+
+    static void forEach(ForkJoinPool pool, int size, int chunk, Action action) {
+        if (size <= chunk) {
+            action.run(0, size);
+            return;
+        }
+        pool.invoke(new Task(action, 0, size, chunk));
+    }
+
+    @FunctionalInterface
+    interface Action {
+        void run(int from, int to);
+    }
+
+    private static final class Task extends RecursiveAction {
+        private final Action action;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        Task(Action action, int from, int to, int chunk) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                action.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Task(action, from, middle, chunk), new Task(action, middle, to, chunk));
+        }
+    }
+}
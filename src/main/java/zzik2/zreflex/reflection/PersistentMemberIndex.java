@@ -0,0 +1,325 @@
+package zzik2.zreflex.reflection;
+
+import zzik2.zreflex.internal.UnsafeAccess;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An optional on-disk record of member lookups, used to seed the {@link MemberIndex} caches on later launches.
+ *
+ * <p>
+ * For every lookup resolved while the index is attached through
+ * {@link ZReflectionTool#usePersistentIndex(PersistentMemberIndex)}, the index records which declaring class and
+ * exact signature it resolved to, or that it missed. A later lookup with the same key is answered with a single
+ * {@code getDeclaredField}/{@code getDeclaredMethod}/{@code getDeclaredConstructor} call on the recorded declaring
+ * class, skipping the hierarchy walk and overload resolution.
+ * </p>
+ *
+ * <p>
+ * The records are only valid for the launch configuration they were made under, which the caller identifies with a
+ * fingerprint passed to {@link #open(Path, String)}: for example a hash of the class path, or of the loaded mods and
+ * their versions. A file recorded under another fingerprint is discarded as a whole, so the caller must change the
+ * fingerprint whenever a class can change, including through a class transformer such as a mixin. Nothing is read
+ * from the classes themselves, so a seeded lookup costs one {@code getDeclared*} call on the recorded declaring class
+ * and never the declared member tables of the hierarchy. A record that no longer resolves is resolved again and
+ * overwritten. Synthetic and proxy classes, whose names are not stable across launches, are not recorded.
+ * The file is memory-mapped on open and the records of a class are decoded only when that class is first looked up;
+ * {@link #save()} rewrites the file atomically under the current fingerprint.
+ * </p>
+ */
+public final class PersistentMemberIndex {
+
+    private static final int MAGIC = 0x5A524958;
+    private static final int VERSION = 3;
+    private static final String MISSING = "";
+
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> type : new Class<?>[] { boolean.class, byte.class, short.class, char.class, int.class,
+                long.class, float.class, double.class, void.class }) {
+            PRIMITIVES.put(type.getName(), type);
+        }
+    }
+
+    private final Path file;
+    private final String fingerprint;
+    private final ConcurrentHashMap<String, ClassEntry> entries = new ConcurrentHashMap<>();
+    private MappedByteBuffer mapped;
+
+    private PersistentMemberIndex(Path file, String fingerprint) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Opens the index stored in {@code file}, keeping its records only if they were saved under the same
+     * {@code fingerprint}.
+     */
+    public static PersistentMemberIndex open(Path file, String fingerprint) throws IOException {
+        PersistentMemberIndex index = new PersistentMemberIndex(file,
+                Objects.requireNonNull(fingerprint, "fingerprint"));
+        if (Files.isRegularFile(file) && Files.size(file) > 0) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                index.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (!index.readDirectory()) {
+                index.entries.clear();
+            }
+        }
+        return index;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getClassCount() {
+        return entries.size();
+    }
+
+    public synchronized void save() throws IOException {
+        ByteArrayOutputStream bodies = new ByteArrayOutputStream();
+        DataOutputStream bodyOut = new DataOutputStream(bodies);
+        ByteArrayOutputStream directory = new ByteArrayOutputStream();
+        DataOutputStream directoryOut = new DataOutputStream(directory);
+        Map<String, ClassEntry> snapshot = new HashMap<>(entries);
+        for (Map.Entry<String, ClassEntry> entry : snapshot.entrySet()) {
+            Map<String, String> records = entry.getValue().records();
+            writeString(directoryOut, entry.getKey());
+            directoryOut.writeInt(bodyOut.size());
+            bodyOut.writeInt(records.size());
+            for (Map.Entry<String, String> record : records.entrySet()) {
+                writeString(bodyOut, record.getKey());
+                writeString(bodyOut, record.getValue());
+            }
+        }
+        releaseMapping();
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, fingerprint);
+            out.writeInt(snapshot.size());
+            out.writeInt(directory.size());
+            directory.writeTo(out);
+            bodies.writeTo(out);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    ClassEntry entryFor(Class<?> owner) {
+        if (owner.isArray() || owner.isPrimitive() || owner.isSynthetic() || owner.getName().indexOf('/') >= 0
+                || Proxy.isProxyClass(owner)) {
+            return null;
+        }
+        ClassEntry entry = entries.get(owner.getName());
+        return entry != null ? entry : entries.computeIfAbsent(owner.getName(), name -> new ClassEntry());
+    }
+
+    static String key(char kind, String name, Class<?>[] types) {
+        StringBuilder key = new StringBuilder().append(kind);
+        if (name != null) {
+            key.append(name);
+        }
+        if (types != null) {
+            appendTypes(key.append('('), types).append(')');
+        }
+        return key.toString();
+    }
+
+    static String describe(Member member) {
+        if (member == null) {
+            return MISSING;
+        }
+        StringBuilder value = new StringBuilder(member.getDeclaringClass().getName());
+        if (member instanceof Method) {
+            appendTypes(value.append('('), ((Method) member).getParameterTypes()).append(')');
+        } else if (member instanceof Constructor) {
+            appendTypes(value.append('('), ((Constructor<?>) member).getParameterTypes()).append(')');
+        }
+        return value.toString();
+    }
+
+    static Field decodeField(Class<?> owner, String name, String value) throws ReflectiveOperationException {
+        return value.isEmpty() ? null : declaringClass(owner, value).getDeclaredField(name);
+    }
+
+    static Method decodeMethod(Class<?> owner, String name, String value) throws ReflectiveOperationException {
+        if (value.isEmpty()) {
+            return null;
+        }
+        int open = value.indexOf('(');
+        Class<?> declaring = declaringClass(owner, value.substring(0, open));
+        return declaring.getDeclaredMethod(name, parameterTypes(declaring, value, open));
+    }
+
+    static Constructor<?> decodeConstructor(Class<?> owner, String value) throws ReflectiveOperationException {
+        if (value.isEmpty()) {
+            return null;
+        }
+        int open = value.indexOf('(');
+        return owner.getDeclaredConstructor(parameterTypes(owner, value, open));
+    }
+
+    private static Class<?> declaringClass(Class<?> owner, String className) throws ClassNotFoundException {
+        for (Class<?> current = owner; current != null; current = current.getSuperclass()) {
+            if (current.getName().equals(className)) {
+                return current;
+            }
+        }
+        throw new ClassNotFoundException(className + " is no longer a superclass of " + owner.getName());
+    }
+
+    private static Class<?>[] parameterTypes(Class<?> declaring, String value, int open)
+            throws ClassNotFoundException {
+        String list = value.substring(open + 1, value.length() - 1);
+        if (list.isEmpty()) {
+            return new Class<?>[0];
+        }
+        String[] names = list.split(",");
+        Class<?>[] types = new Class<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Class<?> primitive = PRIMITIVES.get(names[i]);
+            types[i] = primitive != null ? primitive : Class.forName(names[i], false, declaring.getClassLoader());
+        }
+        return types;
+    }
+
+    private static StringBuilder appendTypes(StringBuilder builder, Class<?>[] types) {
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(types[i] != null ? types[i].getName() : "null");
+        }
+        return builder;
+    }
+
+    private boolean readDirectory() {
+        try {
+            ByteBuffer buffer = mapped.duplicate();
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !fingerprint.equals(readString(buffer))) {
+                return false;
+            }
+            int classCount = buffer.getInt();
+            int directorySize = buffer.getInt();
+            int bodiesStart = buffer.position() + directorySize;
+            for (int i = 0; i < classCount; i++) {
+                String name = readString(buffer);
+                int offset = buffer.getInt();
+                entries.put(name, new ClassEntry(mapped, bodiesStart + offset));
+            }
+            return true;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void releaseMapping() {
+        MappedByteBuffer buffer = mapped;
+        if (buffer != null) {
+            mapped = null;
+            UnsafeAccess.invokeCleaner(buffer);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static final class ClassEntry {
+        private ByteBuffer source;
+        private int offset;
+        private volatile ConcurrentHashMap<String, String> records;
+
+        ClassEntry() {
+            this.records = new ConcurrentHashMap<>();
+        }
+
+        ClassEntry(ByteBuffer source, int offset) {
+            this.source = source;
+            this.offset = offset;
+        }
+
+        String get(String key) {
+            return records().get(key);
+        }
+
+        void put(String key, String value) {
+            records().put(key, value);
+        }
+
+        private Map<String, String> records() {
+            ConcurrentHashMap<String, String> decoded = records;
+            if (decoded == null) {
+                synchronized (this) {
+                    decoded = records;
+                    if (decoded == null) {
+                        decoded = decode();
+                        records = decoded;
+                        source = null;
+                    }
+                }
+            }
+            return decoded;
+        }
+
+        private ConcurrentHashMap<String, String> decode() {
+            ConcurrentHashMap<String, String> decoded = new ConcurrentHashMap<>();
+            try {
+                ByteBuffer buffer = source.duplicate();
+                buffer.position(offset);
+                int count = buffer.getInt();
+                for (int i = 0; i < count; i++) {
+                    decoded.put(readString(buffer), readString(buffer));
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                decoded.clear();
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package zzik2.zreflex.reflection;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The outcome of {@link ZReflectionTool#preload(java.util.Collection)}: how long each class took to warm up and
+ * which classes could not be loaded or read.
+ *
+ * <p>
+ * Class times are listed in request order. Because classes are warmed in parallel, their sum can exceed the
+ * elapsed wall-clock time of the whole preload. A report of {@link ZReflectionTool#preloadMembers} lists members
+ * instead, named {@code Owner#field}, {@code Owner#method(int,java.lang.String)} or {@code Owner#<init>(...)}.
+ * </p>
+ */
+public final class PreloadReport {
+
+    private final Map<String, Duration> classTimes;
+    private final Map<String, Throwable> failures;
+    private final Duration elapsed;
+
+    PreloadReport(String[] names, long[] nanos, Throwable[] failures, long elapsedNanos) {
+        Map<String, Duration> times = new LinkedHashMap<>(names.length * 2);
+        Map<String, Throwable> failed = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            times.put(names[i], Duration.ofNanos(nanos[i]));
+            if (failures[i] != null) {
+                failed.put(names[i], failures[i]);
+            }
+        }
+        this.classTimes = Collections.unmodifiableMap(times);
+        this.failures = Collections.unmodifiableMap(failed);
+        this.elapsed = Duration.ofNanos(elapsedNanos);
+    }
+
+    public Map<String, Duration> getClassTimes() {
+        return classTimes;
+    }
+
+    public Map<String, Throwable> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public int getClassCount() {
+        return classTimes.size();
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+}
@@ -0,0 +1,116 @@
+package zzik2.zreflex.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Member;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fills the member index for a set of classes ahead of time, one fork-join task per class.
+ *
+ * <p>
+ * Each requested class has its declared member tables read and every declared field, method and constructor resolved
+ * into the lookup caches, both by declared parameter types and by the argument classes a dynamic call with matching
+ * arguments looks up. No accessors, invokers or factories are compiled for whole classes, since each may define a
+ * class. The declared tables of all superclasses and interfaces are read as well, so later lookups that walk the
+ * hierarchy hit warm tables.
+ * </p>
+ *
+ * <p>
+ * Individually requested members are warmed the way they will be called: a field gets its {@link FieldAccessor}, a
+ * method or constructor its {@link MethodInvoker} or {@link InstanceFactory}, and the dynamic lookup caches are filled
+ * for arguments whose classes match the declared parameters.
+ * </p>
+ */
+final class Preloader {
+
+    private Preloader() {
+    }
+
+    static PreloadReport preload(Collection<Class<?>> classes) {
+        Class<?>[] types = classes.toArray(new Class<?>[0]);
+        String[] names = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = types[i].getName();
+        }
+        return run(names, index -> warm(types[index]));
+    }
+
+    static PreloadReport preload(Collection<String> classNames, ClassLoader loader) {
+        String[] names = classNames.toArray(new String[0]);
+        return run(names, index -> warm(Class.forName(names[index], false, loader)));
+    }
+
+    static PreloadReport preloadMembers(Collection<? extends Member> members) {
+        Member[] targets = members.toArray(new Member[0]);
+        String[] names = new String[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            names[i] = name(targets[i]);
+        }
+        return run(names, index -> {
+            Member member = targets[index];
+            MemberIndex.of(member.getDeclaringClass()).preload(member);
+        });
+    }
+
+    private static String name(Member member) {
+        String name = member.getDeclaringClass().getName() + "#"
+                + (member instanceof Constructor ? "<init>" : member.getName());
+        if (!(member instanceof Executable)) {
+            return name;
+        }
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> type : ((Executable) member).getParameterTypes()) {
+            parameters.add(type.getTypeName());
+        }
+        return name + parameters;
+    }
+
+    private static PreloadReport run(String[] names, Warmer warmer) {
+        long[] nanos = new long[names.length];
+        Throwable[] failures = new Throwable[names.length];
+        long start = System.nanoTime();
+        ParallelRange.forEach(ForkJoinPool.commonPool(), names.length, 1, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long classStart = System.nanoTime();
+                try {
+                    warmer.warm(i);
+                } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+                    failures[i] = e;
+                }
+                nanos[i] = System.nanoTime() - classStart;
+            }
+        });
+        return new PreloadReport(names, nanos, failures, System.nanoTime() - start);
+    }
+
+    private static void warm(Class<?> type) {
+        MemberIndex.of(type).preload();
+        Set<Class<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            MemberIndex.of(current).preloadDeclared();
+            if (current.getSuperclass() != null) {
+                pending.add(current.getSuperclass());
+            }
+            Collections.addAll(pending, current.getInterfaces());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Warmer {
+        void warm(int index) throws ClassNotFoundException;
+    }
+}
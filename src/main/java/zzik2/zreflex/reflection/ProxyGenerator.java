@@ -0,0 +1,468 @@
+package zzik2.zreflex.reflection;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import zzik2.zreflex.internal.UnsafeAccess;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates proxy classes whose methods call their implementation without a per-instance indirection. Requires
+ * ASM on the runtime classpath, which every mixin environment provides.
+ *
+ * <p>
+ * A proxy created from a {@link ProxyHandler} is an instance of a class generated once per interface, which keeps the
+ * handler's handles in {@code final} instance fields and calls them with {@code invokeExact}, without an argument
+ * array or boxing. Proxies bound to owner classes, as the typed accessors are, get a class of their own next to the
+ * owner that reads its handles from {@code static final} fields instead, so the JIT inlines them like a direct call.
+ * </p>
+ *
+ * <p>
+ * A delegate proxy class is generated once per delegate class and interface, next to the delegate class, and keeps
+ * the delegate in a field of its own type. Methods the proxy can link against are called with a plain
+ * {@code invokevirtual}; private methods and methods needing an argument or return conversion go through a
+ * {@code static final} handle taking the delegate as first argument. Delegates that cannot host a proxy class,
+ * such as bootstrap or lambda classes, get a class next to the interface that calls every method through such a
+ * handle. Classes for system interfaces are defined in this package and live as long as zreflex does.
+ * </p>
+ */
+final class ProxyGenerator {
+
+    private static final String HANDLE_INTERNAL_NAME = Type.getInternalName(MethodHandle.class);
+    private static final String HANDLE_DESCRIPTOR = Type.getDescriptor(MethodHandle.class);
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final ClassValue<Method[]> METHODS = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            return collectMethods(type);
+        }
+    };
+
+    private static final ClassValue<MethodHandle> HANDLER_CLASSES = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return defineHandlerClass(type);
+        }
+    };
+
+    private static final ClassValue<ConcurrentHashMap<Class<?>, MethodHandle>> DELEGATE_CLASSES =
+            new ClassValue<ConcurrentHashMap<Class<?>, MethodHandle>>() {
+                @Override
+                protected ConcurrentHashMap<Class<?>, MethodHandle> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private ProxyGenerator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static <T> T createProxy(Class<T> interfaceType, ProxyHandler handler) {
+        MethodHandle constructor = HANDLER_CLASSES.get(checkInterface(interfaceType));
+        return newInstance(interfaceType, constructor, implement(interfaceType, handler));
+    }
+
+    /**
+     * Creates a proxy whose class is defined next to {@code owner} when that class can host it, so the class and the
+     * handles it holds unload together with {@code owner}; otherwise next to the interface. The class is not cached.
+     */
+    static <T> T createProxy(Class<T> interfaceType, ProxyHandler handler, Class<?> owner) {
+        checkInterface(interfaceType);
+        MethodHandle constructor = null;
+        if (canHost(owner, interfaceType)) {
+            constructor = defineHandlerClass(interfaceType, handler, owner);
+        }
+        if (constructor == null) {
+            constructor = defineHandlerClass(interfaceType, handler, interfaceHost(interfaceType));
+        }
+        return newInstance(interfaceType, constructor, null);
+    }
+
+    static <T> T createDelegateProxy(Class<T> interfaceType, Object delegate) {
+        Class<?> delegateType = delegate.getClass();
+        ConcurrentHashMap<Class<?>, MethodHandle> classes = DELEGATE_CLASSES.get(delegateType);
+        MethodHandle constructor = classes.get(checkInterface(interfaceType));
+        if (constructor == null) {
+            constructor = canHost(delegateType, interfaceType) ? defineDelegateClass(interfaceType, delegateType, true)
+                    : null;
+            if (constructor == null) {
+                constructor = defineDelegateClass(interfaceType, delegateType, false);
+            }
+            MethodHandle previous = classes.putIfAbsent(interfaceType, constructor);
+            if (previous != null) {
+                constructor = previous;
+            }
+        }
+        return newInstance(interfaceType, constructor, delegate);
+    }
+
+    private static Class<?> checkInterface(Class<?> interfaceType) {
+        if (!interfaceType.isInterface()) {
+            throw new ReflectionException("Not an interface: " + interfaceType.getName());
+        }
+        if (isForeign(interfaceType) && !Modifier.isPublic(interfaceType.getModifiers())) {
+            throw new ReflectionException("Cannot proxy non-public system interface: " + interfaceType.getName());
+        }
+        return interfaceType;
+    }
+
+    private static boolean isForeign(Class<?> type) {
+        return type.getClassLoader() == null || type.getName().startsWith("java.");
+    }
+
+    /**
+     * Defines the class shared by every handler proxy of an interface. Its constructor takes the handles as a
+     * {@code MethodHandle[]}, and a default method whose handle is {@code null} runs its default body.
+     */
+    private static MethodHandle defineHandlerClass(Class<?> interfaceType) {
+        Class<?> host = interfaceHost(interfaceType);
+        Method[] methods = METHODS.get(interfaceType);
+        byte[] bytes = writeClass(proxyName(host, interfaceType), interfaceType, null, methods,
+                new MethodHandle[methods.length], null, true);
+        return define(host, interfaceType, bytes, new MethodHandle[0],
+                MethodType.methodType(void.class, Object.class));
+    }
+
+    private static MethodHandle[] implement(Class<?> interfaceType, ProxyHandler handler) {
+        Method[] methods = METHODS.get(interfaceType);
+        MethodHandle[] handles = new MethodHandle[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            MethodHandle handle = handler.implement(methods[i]);
+            if (handle == null) {
+                requireDefault(interfaceType, methods[i]);
+                continue;
+            }
+            handles[i] = adapt(handle, MethodType.methodType(methods[i].getReturnType(),
+                    methods[i].getParameterTypes()), methods[i]);
+        }
+        return handles;
+    }
+
+    private static MethodHandle defineHandlerClass(Class<?> interfaceType, ProxyHandler handler, Class<?> host) {
+        Method[] methods = METHODS.get(interfaceType);
+        MethodHandle[] handles = implement(interfaceType, handler);
+        byte[] bytes = writeClass(proxyName(host, interfaceType), interfaceType, null, methods, handles, null, false);
+        try {
+            return define(host, interfaceType, bytes, handles, MethodType.methodType(void.class));
+        } catch (ReflectionException e) {
+            if (host != interfaceHost(interfaceType) && e.getCause() instanceof LinkageError) {
+                // The owner's package refused the class, for example because it is sealed.
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Defines a delegate proxy class. A local class lives next to the delegate class, types its delegate field
+     * with it and links directly against the methods it can reach; otherwise the class lives next to the
+     * interface and reaches every method through a handle taking the delegate as an {@code Object}.
+     */
+    private static MethodHandle defineDelegateClass(Class<?> interfaceType, Class<?> delegateType, boolean local) {
+        Class<?> receiverType = local ? delegateType : Object.class;
+        Method[] methods = METHODS.get(interfaceType);
+        Method[] targets = new Method[methods.length];
+        MethodHandle[] handles = new MethodHandle[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            Method target = findTarget(delegateType, methods[i]);
+            if (target == null) {
+                requireDefault(interfaceType, methods[i]);
+            } else if (local && isLinkable(target, methods[i], delegateType)) {
+                targets[i] = target;
+            } else {
+                try {
+                    handles[i] = adapt(UnsafeAccess.trustedLookup().unreflect(target),
+                            MethodType.methodType(methods[i].getReturnType(), methods[i].getParameterTypes())
+                                    .insertParameterTypes(0, receiverType), methods[i]);
+                } catch (IllegalAccessException e) {
+                    throw new ReflectionException("Cannot access: " + target.getName(), e);
+                }
+            }
+        }
+        Class<?> host = local ? delegateType : interfaceHost(interfaceType);
+        String className = local ? Type.getInternalName(delegateType) + "$ZReflexProxy$" + COUNTER.incrementAndGet()
+                : proxyName(host, interfaceType);
+        byte[] bytes = writeClass(className, interfaceType, receiverType, methods, handles, targets, false);
+        try {
+            return define(host, interfaceType, bytes, handles, MethodType.methodType(void.class, Object.class));
+        } catch (ReflectionException e) {
+            if (local && e.getCause() instanceof LinkageError) {
+                // The delegate's package refused the class, for example because it is sealed.
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private static Class<?> interfaceHost(Class<?> interfaceType) {
+        return isForeign(interfaceType) ? ProxyGenerator.class : interfaceType;
+    }
+
+    private static String proxyName(Class<?> host, Class<?> interfaceType) {
+        return host.getPackageName().replace('.', '/') + "/" + (host != interfaceType
+                ? interfaceType.getName().replace('.', '_') : interfaceType.getSimpleName())
+                + "$ZReflexProxy$" + COUNTER.incrementAndGet();
+    }
+
+    private static MethodHandle define(Class<?> host, Class<?> interfaceType, byte[] bytes, MethodHandle[] handles,
+            MethodType constructorType) {
+        try {
+            MethodHandles.Lookup lookup = UnsafeAccess.trustedLookup().in(host);
+            Class<?> proxyType = lookup.defineClass(bytes);
+            ConstantHandles.store(proxyType, handles);
+            return lookup.findConstructor(proxyType, constructorType)
+                    .asType(constructorType.changeReturnType(Object.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new ReflectionException("Failed to define proxy for: " + interfaceType.getName(), e);
+        }
+    }
+
+    private static Method findTarget(Class<?> delegateType, Method method) {
+        Method target = MemberIndex.of(delegateType).findMethod(method.getName(), method.getParameterTypes());
+        return target == null || Modifier.isStatic(target.getModifiers()) ? null : target;
+    }
+
+    private static void requireDefault(Class<?> interfaceType, Method method) {
+        if (!method.isDefault()) {
+            throw new ReflectionException("No implementation for method: " + method.getName() + " in "
+                    + interfaceType.getName());
+        }
+    }
+
+    private static MethodHandle adapt(MethodHandle handle, MethodType type, Method method) {
+        try {
+            return handle.asType(type);
+        } catch (RuntimeException e) {
+            throw new ReflectionException("Incompatible implementation for method: " + method.getName(), e);
+        }
+    }
+
+    private static boolean canHost(Class<?> delegateType, Class<?> interfaceType) {
+        ClassLoader loader = delegateType.getClassLoader();
+        if (loader == null || delegateType.getName().startsWith("java.") || delegateType.getName().indexOf('/') >= 0
+                || delegateType.getModule().isNamed()
+                || !interfaceType.getModule().isExported(interfaceType.getPackageName())) {
+            return false;
+        }
+        if (!Modifier.isPublic(interfaceType.getModifiers()) && !isSamePackage(interfaceType, delegateType)) {
+            return false;
+        }
+        try {
+            return Class.forName(interfaceType.getName(), false, loader) == interfaceType;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean isLinkable(Method target, Method method, Class<?> delegateType) {
+        int modifiers = target.getModifiers();
+        if (Modifier.isPrivate(modifiers) || !Modifier.isPublic(modifiers)
+                && !isSamePackage(target.getDeclaringClass(), delegateType)) {
+            return false;
+        }
+        Class<?>[] declared = target.getParameterTypes();
+        Class<?>[] passed = method.getParameterTypes();
+        for (int i = 0; i < declared.length; i++) {
+            if (!isReferenceCompatible(declared[i], passed[i])) {
+                return false;
+            }
+        }
+        return isReferenceCompatible(method.getReturnType(), target.getReturnType());
+    }
+
+    private static boolean isReferenceCompatible(Class<?> to, Class<?> from) {
+        return to == from || !to.isPrimitive() && !from.isPrimitive() && to.isAssignableFrom(from);
+    }
+
+    private static boolean isSamePackage(Class<?> a, Class<?> b) {
+        return a.getClassLoader() == b.getClassLoader() && a.getPackageName().equals(b.getPackageName());
+    }
+
+    private static Method[] collectMethods(Class<?> interfaceType) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Method method : interfaceType.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers())) {
+                methods.putIfAbsent(method.getName() + Type.getMethodDescriptor(method), method);
+            }
+        }
+        return methods.values().toArray(new Method[0]);
+    }
+
+    private static byte[] writeClass(String className, Class<?> interfaceType, Class<?> delegateType,
+            Method[] methods, MethodHandle[] handles, Method[] targets, boolean instanceHandles) {
+        String interfaceName = Type.getInternalName(interfaceType);
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                return "java/lang/Object";
+            }
+        };
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+                className, null, "java/lang/Object", new String[] { interfaceName });
+
+        for (int i = 0; i < methods.length; i++) {
+            if (instanceHandles) {
+                writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "h" + i, HANDLE_DESCRIPTOR, null, null)
+                        .visitEnd();
+            } else if (handles[i] != null) {
+                writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "h" + i,
+                        HANDLE_DESCRIPTOR, null, null).visitEnd();
+            }
+        }
+        String delegateDescriptor = delegateType != null ? Type.getDescriptor(delegateType) : null;
+        if (delegateType != null) {
+            writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "delegate", delegateDescriptor, null, null)
+                    .visitEnd();
+        }
+
+        MethodVisitor init = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>",
+                delegateType != null || instanceHandles ? "(Ljava/lang/Object;)V" : "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        if (delegateType != null) {
+            init.visitVarInsn(Opcodes.ALOAD, 0);
+            init.visitVarInsn(Opcodes.ALOAD, 1);
+            if (delegateType != Object.class) {
+                init.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(delegateType));
+            }
+            init.visitFieldInsn(Opcodes.PUTFIELD, className, "delegate", delegateDescriptor);
+        }
+        if (instanceHandles) {
+            init.visitVarInsn(Opcodes.ALOAD, 1);
+            init.visitTypeInsn(Opcodes.CHECKCAST, "[" + HANDLE_DESCRIPTOR);
+            init.visitVarInsn(Opcodes.ASTORE, 2);
+            for (int i = 0; i < methods.length; i++) {
+                init.visitVarInsn(Opcodes.ALOAD, 0);
+                init.visitVarInsn(Opcodes.ALOAD, 2);
+                init.visitLdcInsn(i);
+                init.visitInsn(Opcodes.AALOAD);
+                init.visitFieldInsn(Opcodes.PUTFIELD, className, "h" + i, HANDLE_DESCRIPTOR);
+            }
+        }
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        for (int i = 0; i < methods.length; i++) {
+            if (instanceHandles) {
+                writeInstanceHandleMethod(writer, className, interfaceName, methods[i], i);
+            } else {
+                writeMethod(writer, className, interfaceName, delegateType, methods[i], handles[i],
+                        targets != null ? targets[i] : null, i);
+            }
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static void writeMethod(ClassWriter writer, String className, String interfaceName,
+            Class<?> delegateType, Method method, MethodHandle handle, Method target, int index) {
+        String descriptor = Type.getMethodDescriptor(method);
+        Type methodType = Type.getMethodType(descriptor);
+        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, method.getName(),
+                descriptor, null, exceptionNames(method));
+        visitor.visitCode();
+        if (target != null) {
+            loadDelegate(visitor, className, delegateType);
+            loadArguments(visitor, methodType);
+            visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(delegateType), target.getName(),
+                    Type.getMethodDescriptor(target), false);
+        } else if (handle != null) {
+            visitor.visitFieldInsn(Opcodes.GETSTATIC, className, "h" + index, HANDLE_DESCRIPTOR);
+            if (delegateType != null) {
+                loadDelegate(visitor, className, delegateType);
+            }
+            loadArguments(visitor, methodType);
+            visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, HANDLE_INTERNAL_NAME, "invokeExact",
+                    handle.type().toMethodDescriptorString(), false);
+        } else {
+            visitor.visitVarInsn(Opcodes.ALOAD, 0);
+            loadArguments(visitor, methodType);
+            visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, interfaceName, method.getName(), descriptor, true);
+        }
+        visitor.visitInsn(methodType.getReturnType().getOpcode(Opcodes.IRETURN));
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+    }
+
+    /**
+     * Calls the handle in instance field {@code h<index>}; for a default method a {@code null} handle falls back to
+     * the default body.
+     */
+    private static void writeInstanceHandleMethod(ClassWriter writer, String className, String interfaceName,
+            Method method, int index) {
+        String descriptor = Type.getMethodDescriptor(method);
+        Type methodType = Type.getMethodType(descriptor);
+        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, method.getName(),
+                descriptor, null, exceptionNames(method));
+        visitor.visitCode();
+        visitor.visitVarInsn(Opcodes.ALOAD, 0);
+        visitor.visitFieldInsn(Opcodes.GETFIELD, className, "h" + index, HANDLE_DESCRIPTOR);
+        if (method.isDefault()) {
+            Label implemented = new Label();
+            visitor.visitInsn(Opcodes.DUP);
+            visitor.visitJumpInsn(Opcodes.IFNONNULL, implemented);
+            visitor.visitInsn(Opcodes.POP);
+            visitor.visitVarInsn(Opcodes.ALOAD, 0);
+            loadArguments(visitor, methodType);
+            visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, interfaceName, method.getName(), descriptor, true);
+            visitor.visitInsn(methodType.getReturnType().getOpcode(Opcodes.IRETURN));
+            visitor.visitLabel(implemented);
+        }
+        loadArguments(visitor, methodType);
+        visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, HANDLE_INTERNAL_NAME, "invokeExact", descriptor, false);
+        visitor.visitInsn(methodType.getReturnType().getOpcode(Opcodes.IRETURN));
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+    }
+
+    private static String[] exceptionNames(Method method) {
+        if (method.getExceptionTypes().length == 0) {
+            return null;
+        }
+        List<String> names = new ArrayList<>();
+        for (Class<?> exception : method.getExceptionTypes()) {
+            names.add(Type.getInternalName(exception));
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static void loadDelegate(MethodVisitor visitor, String className, Class<?> delegateType) {
+        visitor.visitVarInsn(Opcodes.ALOAD, 0);
+        visitor.visitFieldInsn(Opcodes.GETFIELD, className, "delegate", Type.getDescriptor(delegateType));
+    }
+
+    private static void loadArguments(MethodVisitor visitor, Type methodType) {
+        int slot = 1;
+        for (Type argument : methodType.getArgumentTypes()) {
+            visitor.visitVarInsn(argument.getOpcode(Opcodes.ILOAD), slot);
+            slot += argument.getSize();
+        }
+    }
+
+    private static <T> T newInstance(Class<T> interfaceType, MethodHandle constructor, Object delegate) {
+        try {
+            Object proxy = delegate != null ? (Object) constructor.invokeExact(delegate)
+                    : (Object) constructor.invokeExact();
+            return interfaceType.cast(proxy);
+        } catch (Throwable e) {
+            throw new ReflectionException("Failed to create proxy for: " + interfaceType.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package zzik2.zreflex.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * Supplies the implementation of each interface method for a proxy created by
+ * {@link ZReflectionTool#createProxy(Class, ProxyHandler)}.
+ *
+ * <p>
+ * The handler is consulted once per method each time a proxy is created with it; every proxy of an interface shares
+ * one generated class, whatever the handler. The returned handle receives the method arguments (not the proxy) and
+ * is adapted to the exact method type, so the proxy calls it from a {@code final} field with {@code invokeExact},
+ * without an argument array or boxing. Returning {@code null} keeps the default implementation of a default method;
+ * it is an error for abstract methods.
+ * </p>
+ */
+@FunctionalInterface
+public interface ProxyHandler {
+
+    MethodHandle implement(Method method);
+}
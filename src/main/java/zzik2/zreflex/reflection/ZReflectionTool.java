@@ -1,7 +1,12 @@
 package zzik2.zreflex.reflection;
 
+import zzik2.zreflex.metrics.ZReflexMetrics;
+
 import java.lang.reflect.*;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 public final class ZReflectionTool {
@@ -47,6 +52,175 @@ public final class ZReflectionTool {
         }
     }
 
+    public static void copyFields(Object source, Object destination) {
+        FieldCopier.of(source.getClass()).copy(source, destination);
+    }
+
+    public static <T> T deepCopy(T source) {
+        return DeepCopier.defaults().copy(source);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> FieldAccessor<T> getFieldAccessor(Class<?> clazz, String fieldName) {
+        FieldAccessor<?> accessor = MemberIndex.of(clazz).findAccessor(fieldName);
+        if (accessor != null) {
+            return (FieldAccessor<T>) accessor;
+        }
+        throw new ReflectionException("Field not found: " + fieldName + " in " + clazz.getName());
+    }
+
+    public static <T> boolean compareAndSetField(Object target, String fieldName, T expected, T value) {
+        return ZReflectionTool.<T>getFieldAccessor(target.getClass(), fieldName).compareAndSet(target, expected, value);
+    }
+
+    public static <T> T getAndAddField(Object target, String fieldName, T delta) {
+        return ZReflectionTool.<T>getFieldAccessor(target.getClass(), fieldName).getAndAdd(target, delta);
+    }
+
+    public static <T> T getAndSetField(Object target, String fieldName, T value) {
+        return ZReflectionTool.<T>getFieldAccessor(target.getClass(), fieldName).getAndSet(target, value);
+    }
+
+    public static <T> T getFieldAcquire(Object target, String fieldName) {
+        return ZReflectionTool.<T>getFieldAccessor(target.getClass(), fieldName).getAcquire(target);
+    }
+
+    public static <T> void setFieldRelease(Object target, String fieldName, T value) {
+        ZReflectionTool.<T>getFieldAccessor(target.getClass(), fieldName).setRelease(target, value);
+    }
+
+    public static void extractInts(List<?> targets, String fieldName, int[] out) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).extractInts(targets, out);
+        }
+    }
+
+    public static void writeInts(List<?> targets, String fieldName, int[] in) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).writeInts(targets, in);
+        }
+    }
+
+    public static void extractLongs(List<?> targets, String fieldName, long[] out) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).extractLongs(targets, out);
+        }
+    }
+
+    public static void writeLongs(List<?> targets, String fieldName, long[] in) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).writeLongs(targets, in);
+        }
+    }
+
+    public static void extractFloats(List<?> targets, String fieldName, float[] out) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).extractFloats(targets, out);
+        }
+    }
+
+    public static void writeFloats(List<?> targets, String fieldName, float[] in) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).writeFloats(targets, in);
+        }
+    }
+
+    public static void extractDoubles(List<?> targets, String fieldName, double[] out) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).extractDoubles(targets, out);
+        }
+    }
+
+    public static void writeDoubles(List<?> targets, String fieldName, double[] in) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).writeDoubles(targets, in);
+        }
+    }
+
+    public static void extractBooleans(List<?> targets, String fieldName, boolean[] out) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).extractBooleans(targets, out);
+        }
+    }
+
+    public static void writeBooleans(List<?> targets, String fieldName, boolean[] in) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).writeBooleans(targets, in);
+        }
+    }
+
+    public static void extractBytes(List<?> targets, String fieldName, byte[] out) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).extractBytes(targets, out);
+        }
+    }
+
+    public static void writeBytes(List<?> targets, String fieldName, byte[] in) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).writeBytes(targets, in);
+        }
+    }
+
+    public static void extractShorts(List<?> targets, String fieldName, short[] out) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).extractShorts(targets, out);
+        }
+    }
+
+    public static void writeShorts(List<?> targets, String fieldName, short[] in) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).writeShorts(targets, in);
+        }
+    }
+
+    public static void extractChars(List<?> targets, String fieldName, char[] out) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).extractChars(targets, out);
+        }
+    }
+
+    public static void writeChars(List<?> targets, String fieldName, char[] in) {
+        if (!targets.isEmpty()) {
+            columnAccessor(targets, fieldName).writeChars(targets, in);
+        }
+    }
+
+    public static <T> void extractValues(List<?> targets, String fieldName, T[] out) {
+        if (!targets.isEmpty()) {
+            ZReflectionTool.<T>columnAccessor(targets, fieldName).extractValues(targets, out);
+        }
+    }
+
+    public static <T> void writeValues(List<?> targets, String fieldName, T[] in) {
+        if (!targets.isEmpty()) {
+            ZReflectionTool.<T>columnAccessor(targets, fieldName).writeValues(targets, in);
+        }
+    }
+
+    // Resolves the field on the most derived class every target is an instance of, so a subclass that shadows the
+    // field never decides which field the whole column reads.
+    private static <T> FieldAccessor<T> columnAccessor(List<?> targets, String fieldName) {
+        Class<?> type = null;
+        int index = 0;
+        for (Object target : targets) {
+            if (target == null) {
+                throw new ReflectionException("Null target at index " + index + " for field: " + fieldName);
+            }
+            if (type == null) {
+                type = target.getClass();
+            }
+            while (!type.isInstance(target)) {
+                type = type.getSuperclass();
+            }
+            index++;
+        }
+        return getFieldAccessor(type, fieldName);
+    }
+
+    public static MethodInvoker getMethodInvoker(Class<?> clazz, String methodName, Class<?>... paramTypes) {
+        return MethodInvoker.of(findMethod(clazz, methodName, paramTypes));
+    }
+
     public static <T> T invokeMethod(Object target, String methodName, Object... args) {
         return invokeMethod(target.getClass(), target, methodName, null, args);
     }
@@ -63,18 +237,118 @@ public final class ZReflectionTool {
         return invokeMethod(clazz, null, methodName, paramTypes, args);
     }
 
+    public static BatchResult invokeAll(Collection<?> targets, String methodName, Object... args) {
+        return invokeAll(targets, methodName, BatchOptions.sequential(), args);
+    }
+
+    public static BatchResult invokeAll(Collection<?> targets, String methodName, BatchOptions options,
+            Object... args) {
+        Object[] batch = targets.toArray();
+        BatchResult result = new BatchResult(batch.length);
+        if (batch.length == 0) {
+            return result;
+        }
+        Class<?> targetType = null;
+        for (int i = 0; i < batch.length && targetType == null; i++) {
+            targetType = batch[i] != null ? batch[i].getClass() : null;
+        }
+        MethodInvoker invoker = targetType != null ? batchInvoker(targetType, methodName, args) : null;
+        options.execute(batch.length, (from, to) -> {
+            List<BatchResult.Failure> failures = null;
+            for (int i = from; i < to; i++) {
+                try {
+                    invoker.invoke(Objects.requireNonNull(batch[i], "target"), args);
+                } catch (VirtualMachineError e) {
+                    throw e;
+                } catch (Throwable e) {
+                    if (failures == null) {
+                        failures = new ArrayList<>();
+                    }
+                    failures.add(new BatchResult.Failure(batch[i], e));
+                }
+            }
+            if (failures != null) {
+                result.addFailures(failures);
+            }
+        });
+        return result;
+    }
+
+    private static MethodInvoker batchInvoker(Class<?> clazz, String methodName, Object[] args) {
+        if (args.length <= 4) {
+            return dynamicInvoker(clazz, methodName, args.length, argument(args, 0), argument(args, 1),
+                    argument(args, 2), argument(args, 3));
+        }
+        return MethodInvoker.of(findMethod(clazz, methodName, ArgumentTypeCache.typesOf(args)));
+    }
+
+    private static Object argument(Object[] args, int index) {
+        return index < args.length ? args[index] : null;
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> T invokeMethod(Class<?> clazz, Object target, String methodName, Class<?>[] paramTypes, Object... args) {
         try {
-            Class<?>[] resolvedTypes = paramTypes != null ? paramTypes : Arrays.stream(args).map(arg -> arg != null ? arg.getClass() : null).toArray(Class<?>[]::new);
+            Class<?>[] resolvedTypes = paramTypes != null ? paramTypes : ArgumentTypeCache.typesOf(args);
             Method method = findMethod(clazz, methodName, resolvedTypes);
             ensureAccessible(method, methodName);
+            ZReflexMetrics.recordInvocation(method);
             return (T) method.invoke(target, args);
         } catch (IllegalAccessException | InvocationTargetException e) {
             throw new ReflectionException("Failed to invoke method: " + methodName, e);
         }
     }
 
+    public static <T> T invokeMethod0(Object target, String methodName) {
+        return dynamicInvoker(target.getClass(), methodName, 0, null, null, null, null).invoke0(target);
+    }
+
+    public static <T> T invokeMethod1(Object target, String methodName, Object a) {
+        return dynamicInvoker(target.getClass(), methodName, 1, a, null, null, null).invoke1(target, a);
+    }
+
+    public static <T> T invokeMethod2(Object target, String methodName, Object a, Object b) {
+        return dynamicInvoker(target.getClass(), methodName, 2, a, b, null, null).invoke2(target, a, b);
+    }
+
+    public static <T> T invokeMethod3(Object target, String methodName, Object a, Object b, Object c) {
+        return dynamicInvoker(target.getClass(), methodName, 3, a, b, c, null).invoke3(target, a, b, c);
+    }
+
+    public static <T> T invokeMethod4(Object target, String methodName, Object a, Object b, Object c, Object d) {
+        return dynamicInvoker(target.getClass(), methodName, 4, a, b, c, d).invoke4(target, a, b, c, d);
+    }
+
+    public static <T> T invokeStaticMethod0(Class<?> clazz, String methodName) {
+        return dynamicInvoker(clazz, methodName, 0, null, null, null, null).invoke0(null);
+    }
+
+    public static <T> T invokeStaticMethod1(Class<?> clazz, String methodName, Object a) {
+        return dynamicInvoker(clazz, methodName, 1, a, null, null, null).invoke1(null, a);
+    }
+
+    public static <T> T invokeStaticMethod2(Class<?> clazz, String methodName, Object a, Object b) {
+        return dynamicInvoker(clazz, methodName, 2, a, b, null, null).invoke2(null, a, b);
+    }
+
+    public static <T> T invokeStaticMethod3(Class<?> clazz, String methodName, Object a, Object b, Object c) {
+        return dynamicInvoker(clazz, methodName, 3, a, b, c, null).invoke3(null, a, b, c);
+    }
+
+    public static <T> T invokeStaticMethod4(Class<?> clazz, String methodName, Object a, Object b, Object c,
+            Object d) {
+        return dynamicInvoker(clazz, methodName, 4, a, b, c, d).invoke4(null, a, b, c, d);
+    }
+
+    private static MethodInvoker dynamicInvoker(Class<?> clazz, String methodName, int count, Object a, Object b,
+            Object c, Object d) {
+        MethodInvoker invoker = MemberIndex.of(clazz).findInvoker(methodName, count, a, b, c, d);
+        if (invoker == null) {
+            throw new ReflectionException("Method not found: " + methodName + " in " + clazz.getName());
+        }
+        return invoker;
+    }
+
     public static <T> T invokeMethodExact(Object target, String methodName, Class<?>[] paramTypes, Object... args) {
         return invokeMethodExact(target.getClass(), target, methodName, paramTypes, args);
     }
@@ -88,6 +362,7 @@ public final class ZReflectionTool {
         try {
             Method method = findMethodExact(clazz, methodName, paramTypes);
             ensureAccessible(method, methodName);
+            ZReflexMetrics.recordInvocation(method);
             return (T) method.invoke(target, args);
         } catch (IllegalAccessException | InvocationTargetException e) {
             throw new ReflectionException("Failed to invoke method: " + methodName, e);
@@ -100,118 +375,159 @@ public final class ZReflectionTool {
 
     public static <T> T newInstance(Class<T> clazz, Class<?>[] paramTypes, Object... args) {
         try {
-            Class<?>[] resolvedTypes = paramTypes != null ? paramTypes
-                    : Arrays.stream(args).map(arg -> arg != null ? arg.getClass() : null).toArray(Class<?>[]::new);
+            Class<?>[] resolvedTypes = paramTypes != null ? paramTypes : ArgumentTypeCache.typesOf(args);
             Constructor<T> constructor = findConstructor(clazz, resolvedTypes);
             ensureAccessible(constructor, clazz.getName());
+            ZReflexMetrics.recordInvocation(constructor);
             return constructor.newInstance(args);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
             throw new ReflectionException("Failed to create instance of: " + clazz.getName(), e);
         }
     }
 
+    public static <T> T newInstance0(Class<T> clazz) {
+        return dynamicFactory(clazz, 0, null, null, null, null).create0();
+    }
+
+    public static <T> T newInstance1(Class<T> clazz, Object a) {
+        return dynamicFactory(clazz, 1, a, null, null, null).create1(a);
+    }
+
+    public static <T> T newInstance2(Class<T> clazz, Object a, Object b) {
+        return dynamicFactory(clazz, 2, a, b, null, null).create2(a, b);
+    }
+
+    public static <T> T newInstance3(Class<T> clazz, Object a, Object b, Object c) {
+        return dynamicFactory(clazz, 3, a, b, c, null).create3(a, b, c);
+    }
+
+    public static <T> T newInstance4(Class<T> clazz, Object a, Object b, Object c, Object d) {
+        return dynamicFactory(clazz, 4, a, b, c, d).create4(a, b, c, d);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> InstanceFactory<T> dynamicFactory(Class<T> clazz, int count, Object a, Object b, Object c,
+            Object d) {
+        InstanceFactory<?> factory = MemberIndex.of(clazz).findFactory(count, a, b, c, d);
+        if (factory == null) {
+            throw new ReflectionException("Constructor not found in: " + clazz.getName());
+        }
+        return (InstanceFactory<T>) factory;
+    }
+
     public static <T> T newInstanceExact(Class<T> clazz, Class<?>[] paramTypes, Object... args) {
         try {
-            Constructor<T> constructor = clazz.getDeclaredConstructor(paramTypes);
+            Constructor<T> constructor = findConstructorExact(clazz, paramTypes);
             ensureAccessible(constructor, clazz.getName());
+            ZReflexMetrics.recordInvocation(constructor);
             return constructor.newInstance(args);
-        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException
-                | InvocationTargetException e) {
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
             throw new ReflectionException("Failed to create instance of: " + clazz.getName(), e);
         }
     }
 
+    public static <T> InstanceFactory<T> getInstanceFactory(Class<T> clazz, Class<?>... paramTypes) {
+        return InstanceFactory.of(findConstructor(clazz, paramTypes));
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T createProxy(Class<T> interfaceType, InvocationHandler handler) {
         return (T) Proxy.newProxyInstance(interfaceType.getClassLoader(), new Class<?>[] { interfaceType }, handler);
     }
 
+    public static <T> T createProxy(Class<T> interfaceType, ProxyHandler handler) {
+        return ProxyGenerator.createProxy(interfaceType, handler);
+    }
+
+    public static <T> T createDelegateProxy(Class<T> interfaceType, Object delegate) {
+        return ProxyGenerator.createDelegateProxy(interfaceType, delegate);
+    }
+
+    public static <T> T bind(Class<T> accessType, Class<?> targetClass) {
+        return AccessorBinder.bind(accessType, targetClass);
+    }
+
     public static Class<?> findDeclaredClass(Class<?> owner, String simpleName) {
-        for (Class<?> declared : owner.getDeclaredClasses()) {
-            if (declared.getSimpleName().equals(simpleName)) {
-                return declared;
-            }
+        Class<?> declared = MemberIndex.of(owner).findDeclaredClass(simpleName);
+        if (declared != null) {
+            return declared;
         }
         throw new ReflectionException("Class not found: " + simpleName + " in " + owner.getName());
     }
 
     public static Optional<Class<?>> findDeclaredClassOptional(Class<?> owner, String simpleName) {
-        try {
-            return Optional.of(findDeclaredClass(owner, simpleName));
-        } catch (ReflectionException e) {
-            return Optional.empty();
-        }
+        return Optional.ofNullable(MemberIndex.of(owner).findDeclaredClass(simpleName));
+    }
+
+    public static void usePersistentIndex(PersistentMemberIndex index) {
+        MemberIndex.setPersistentIndex(index);
+    }
+
+    public static PreloadReport preload(Collection<Class<?>> classes) {
+        return Preloader.preload(classes);
+    }
+
+    public static PreloadReport preload(Collection<String> classNames, ClassLoader loader) {
+        return Preloader.preload(classNames, loader);
+    }
+
+    public static PreloadReport preloadMembers(Collection<? extends Member> members) {
+        return Preloader.preloadMembers(members);
     }
 
     public static Field findField(Class<?> clazz, String fieldName) {
-        Class<?> current = clazz;
-        while (current != null) {
-            try {
-                return current.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                current = current.getSuperclass();
-            }
+        Field field = MemberIndex.of(clazz).findField(fieldName);
+        if (field != null) {
+            return field;
         }
         throw new ReflectionException("Field not found: " + fieldName + " in " + clazz.getName());
     }
 
     public static Optional<Field> findFieldOptional(Class<?> clazz, String fieldName) {
-        try {
-            return Optional.of(findField(clazz, fieldName));
-        } catch (ReflectionException e) {
-            return Optional.empty();
-        }
+        return Optional.ofNullable(MemberIndex.of(clazz).findField(fieldName));
     }
 
     public static Method findMethod(Class<?> clazz, String methodName, Class<?>... paramTypes) {
-        Class<?> current = clazz;
-        while (current != null) {
-            for (Method method : current.getDeclaredMethods()) {
-                if (method.getName().equals(methodName) && isAssignable(method.getParameterTypes(), paramTypes)) {
-                    return method;
-                }
-            }
-            current = current.getSuperclass();
+        Method method = MemberIndex.of(clazz).findMethod(methodName, paramTypes);
+        if (method != null) {
+            return method;
         }
         throw new ReflectionException("Method not found: " + methodName + " in " + clazz.getName());
     }
 
     public static Method findMethodExact(Class<?> clazz, String methodName, Class<?>... paramTypes) {
-        Class<?> current = clazz;
-        while (current != null) {
-            try {
-                return current.getDeclaredMethod(methodName, paramTypes);
-            } catch (NoSuchMethodException e) {
-                current = current.getSuperclass();
-            }
+        Method method = MemberIndex.of(clazz).findMethodExact(methodName, paramTypes);
+        if (method != null) {
+            return method;
         }
         throw new ReflectionException("Method not found: " + methodName + " in " + clazz.getName());
     }
 
     public static Optional<Method> findMethodOptional(Class<?> clazz, String methodName, Class<?>... paramTypes) {
-        try {
-            return Optional.of(findMethod(clazz, methodName, paramTypes));
-        } catch (ReflectionException e) {
-            return Optional.empty();
-        }
+        return Optional.ofNullable(MemberIndex.of(clazz).findMethod(methodName, paramTypes));
     }
 
     @SuppressWarnings("unchecked")
     public static <T> Constructor<T> findConstructor(Class<T> clazz, Class<?>... paramTypes) {
-        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
-            if (isAssignable(constructor.getParameterTypes(), paramTypes)) {
-                return (Constructor<T>) constructor;
-            }
+        Constructor<?> constructor = MemberIndex.of(clazz).findConstructor(paramTypes);
+        if (constructor != null) {
+            return (Constructor<T>) constructor;
         }
         throw new ReflectionException("Constructor not found in: " + clazz.getName());
     }
 
-    public static <T> Optional<Constructor<T>> findConstructorOptional(Class<T> clazz, Class<?>... paramTypes) {
-        try {
-            return Optional.of(findConstructor(clazz, paramTypes));
-        } catch (ReflectionException e) {
-            return Optional.empty();
+    @SuppressWarnings("unchecked")
+    public static <T> Constructor<T> findConstructorExact(Class<T> clazz, Class<?>... paramTypes) {
+        Constructor<?> constructor = MemberIndex.of(clazz).findConstructorExact(paramTypes);
+        if (constructor != null) {
+            return (Constructor<T>) constructor;
         }
+        throw new ReflectionException("Constructor not found in: " + clazz.getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<Constructor<T>> findConstructorOptional(Class<T> clazz, Class<?>... paramTypes) {
+        return Optional.ofNullable((Constructor<T>) MemberIndex.of(clazz).findConstructor(paramTypes));
     }
 
     public static int getFieldModifiers(Class<?> clazz, String fieldName) {
@@ -296,7 +612,7 @@ public final class ZReflectionTool {
         }
     }
 
-    private static boolean isAssignable(Class<?>[] declared, Class<?>[] provided) {
+    static boolean isAssignable(Class<?>[] declared, Class<?>[] provided) {
         if (declared.length != provided.length) {
             return false;
         }
@@ -327,7 +643,7 @@ public final class ZReflectionTool {
         return false;
     }
 
-    private static Class<?> getWrapperType(Class<?> primitiveType) {
+    static Class<?> getWrapperType(Class<?> primitiveType) {
         if (primitiveType == int.class)
             return Integer.class;
         if (primitiveType == long.class)
@@ -0,0 +1,38 @@
+package zzik2.zreflex.reflection.bind;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds an accessor interface method to a field of the target class.
+ *
+ * <p>
+ * A method with a receiver parameter and a return value reads the field, a method with a receiver and a value
+ * parameter returning {@code void} writes it. For static fields the receiver parameter is omitted.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * interface EntityAccess {
+ *     &#64;Field("health")
+ *     float health(Object entity);
+ *
+ *     &#64;Field("health")
+ *     void setHealth(Object entity, float health);
+ * }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Field {
+
+    /**
+     * The name of the field, resolved like {@code ZReflectionTool.findField}.
+     *
+     * @return the field name
+     */
+    String value();
+}
@@ -0,0 +1,35 @@
+package zzik2.zreflex.reflection.bind;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds an accessor interface method to a method of the target class.
+ *
+ * <p>
+ * For instance methods the first parameter is the receiver and the remaining parameters are the arguments. If no
+ * matching instance method exists, a static method taking all parameters is looked up instead.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * interface EntityAccess {
+ *     &#64;Method("tick")
+ *     void tick(Object entity);
+ * }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Method {
+
+    /**
+     * The name of the target method; defaults to the name of the annotated method.
+     *
+     * @return the method name
+     */
+    String value() default "";
+}
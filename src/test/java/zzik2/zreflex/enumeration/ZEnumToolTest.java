@@ -3,6 +3,8 @@ package zzik2.zreflex.enumeration;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ZEnumToolTest {
@@ -27,6 +29,16 @@ class ZEnumToolTest {
         }
     }
 
+    enum Tier {
+        BASIC("basic");
+
+        private final String label;
+
+        Tier(String label) {
+            this.label = label;
+        }
+    }
+
     @Test
     @DisplayName("Add simple enum constant without parameters")
     void addSimpleConstant() {
@@ -89,4 +101,62 @@ class ZEnumToolTest {
         assertThrows(ZEnumTool.EnumException.class, () -> ZEnumTool.addConstant(SimpleColor.class, null));
         assertThrows(ZEnumTool.EnumException.class, () -> ZEnumTool.addConstant(SimpleColor.class, ""));
     }
+
+    @Test
+    @DisplayName("Extend an enum with many constants in one commit")
+    void extendInOneCommit() {
+        int initialLength = Tier.values().length;
+        EnumExtender<Tier> extender = ZEnumTool.extend(Tier.class);
+        for (int i = 0; i < 100; i++) {
+            extender.add("TIER_" + i, new Class<?>[] { String.class }, "tier " + i);
+        }
+
+        List<Tier> added = extender.commit();
+
+        assertEquals(100, added.size());
+        assertEquals(0, extender.size());
+        Tier[] values = Tier.values();
+        assertEquals(initialLength + 100, values.length);
+        for (int i = 0; i < added.size(); i++) {
+            Tier tier = added.get(i);
+            assertEquals(initialLength + i, tier.ordinal());
+            assertEquals("tier " + i, tier.label);
+            assertSame(tier, values[tier.ordinal()]);
+            assertSame(tier, Tier.valueOf("TIER_" + i));
+        }
+        assertTrue(extender.commit().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Leave the enum untouched when an extension fails")
+    void extendAtomically() {
+        int initialLength = SimpleColor.values().length;
+
+        EnumExtender<SimpleColor> duplicate = ZEnumTool.extend(SimpleColor.class).add("CYAN").add("RED");
+        assertThrows(ZEnumTool.EnumException.class, duplicate::commit);
+        EnumExtender<SimpleColor> badConstructor = ZEnumTool.extend(SimpleColor.class)
+                .add("MAGENTA")
+                .add("BROKEN", new Class<?>[] { int.class }, 1);
+        assertThrows(ZEnumTool.EnumException.class, badConstructor::commit);
+
+        assertEquals(initialLength, SimpleColor.values().length);
+        assertThrows(IllegalArgumentException.class, () -> SimpleColor.valueOf("MAGENTA"));
+    }
+
+    @Test
+    @DisplayName("Reuse cached values field and constructor handles")
+    void reuseMetadata() throws ReflectiveOperationException {
+        EnumMetadata metadata = EnumMetadata.of(SizedItem.class);
+        assertSame(metadata, EnumMetadata.of(SizedItem.class));
+        Class<?>[] parameterTypes = { int.class };
+        assertSame(metadata.constructor(parameterTypes), metadata.constructor(new Class<?>[] { int.class }));
+        assertArrayEquals(SizedItem.values(), metadata.getValues());
+
+        SizedItem first = ZEnumTool.createInstance(SizedItem.class, "FIRST", 100, new Class<?>[] { int.class }, 1);
+        SizedItem second = ZEnumTool.createInstance(SizedItem.class, "SECOND", 101, new Class<?>[] { int.class }, 2);
+        assertEquals(1, first.getSize());
+        assertEquals(2, second.getSize());
+        assertThrows(ZEnumTool.EnumException.class,
+                () -> ZEnumTool.createInstance(SizedItem.class, "WRONG", 102, new Class<?>[] { int.class }, "text"));
+    }
 }
@@ -0,0 +1,135 @@
+package zzik2.zreflex.internal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnsafeAccessTest {
+
+    @Test
+    @DisplayName("Read and write primitive fields by offset")
+    void primitiveAccess() throws Exception {
+        Counters counters = new Counters();
+        FieldAddress hits = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("hits"));
+        FieldAddress total = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("total"));
+        FieldAddress ratio = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("ratio"));
+        FieldAddress enabled = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("enabled"));
+        FieldAddress label = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("label"));
+
+        hits.putInt(counters, 5);
+        total.putLongVolatile(counters, 10L);
+        ratio.putDouble(counters, 0.5);
+        enabled.putBoolean(counters, true);
+        label.putObjectOrdered(counters, "label");
+
+        assertEquals(5, counters.hits);
+        assertEquals(10L, total.getLongVolatile(counters));
+        assertEquals(0.5, ratio.getDouble(counters));
+        assertTrue(enabled.getBooleanVolatile(counters));
+        assertEquals("label", label.getObject(counters));
+    }
+
+    @Test
+    @DisplayName("Atomic operations on instance and static fields")
+    void atomicOperations() throws Exception {
+        Counters counters = new Counters();
+        FieldAddress hits = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("hits"));
+        FieldAddress shared = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("shared"));
+        FieldAddress label = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("label"));
+
+        assertTrue(hits.compareAndSetInt(counters, 0, 3));
+        assertFalse(hits.compareAndSetInt(counters, 0, 4));
+        assertEquals(3, hits.getAndAddInt(counters, 2));
+        assertEquals(5, hits.getAndSetInt(counters, 9));
+        assertEquals(9, counters.hits);
+
+        shared.putLong(null, 0L);
+        assertEquals(0L, shared.getAndAddLong(null, 7L));
+        assertEquals(7L, Counters.shared);
+
+        assertNull(label.getAndSetObject(counters, "first"));
+        assertTrue(label.compareAndSetObject(counters, "first", "second"));
+        assertEquals("second", counters.label);
+    }
+
+    @Test
+    @DisplayName("Concurrent getAndAdd loses no updates")
+    void concurrentIncrements() throws Exception {
+        Counters counters = new Counters();
+        FieldAddress total = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("total"));
+        int threads = 4;
+        int increments = 10_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < increments; j++) {
+                    total.getAndAddLong(counters, 1L);
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        assertEquals((long) threads * increments, total.getLongVolatile(counters));
+    }
+
+    @Test
+    @DisplayName("Instance field access rejects foreign or null targets")
+    void rejectsInvalidTargets() throws Exception {
+        FieldAddress hits = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("hits"));
+        assertThrows(NullPointerException.class, () -> hits.getInt(null));
+        assertThrows(ClassCastException.class, () -> hits.getInt("not counters"));
+    }
+
+    @Test
+    @DisplayName("Access that does not match the field type is rejected")
+    void rejectsMismatchedAccess() throws Exception {
+        Counters counters = new Counters();
+        FieldAddress hits = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("hits"));
+        FieldAddress label = UnsafeAccess.fieldAddress(Counters.class.getDeclaredField("label"));
+
+        assertThrows(IllegalStateException.class, () -> hits.putLong(counters, 1L));
+        assertThrows(IllegalStateException.class, () -> hits.getObject(counters));
+        assertThrows(IllegalStateException.class, () -> label.getInt(counters));
+        assertThrows(ClassCastException.class, () -> label.putObject(counters, 5));
+        assertThrows(ClassCastException.class, () -> label.compareAndSetObject(counters, null, new Object()));
+        label.putObject(counters, null);
+        assertNull(counters.label);
+        assertEquals(0, counters.hits);
+    }
+
+    @Test
+    @DisplayName("Allocate an instance without running its constructor")
+    void allocateInstance() {
+        Initialized instance = (Initialized) UnsafeAccess.allocateInstance(Initialized.class);
+        assertEquals(0, instance.value);
+        assertThrows(RuntimeException.class, () -> UnsafeAccess.allocateInstance(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("An operation missing from the runtime fails only when it is called")
+    void missingOperationFailsOnUse() throws Throwable {
+        MethodHandle missing = UnsafeAccess.bindOptional("getIntPlain", int.class, Object.class, long.class);
+        assertEquals(MethodType.methodType(int.class, Object.class, long.class), missing.type());
+        UnsupportedOperationException e = assertThrows(UnsupportedOperationException.class,
+                () -> { int value = (int) missing.invokeExact((Object) new Counters(), 0L); });
+        assertTrue(e.getMessage().contains("getIntPlain"));
+    }
+
+    static class Initialized {
+        private int value = 5;
+    }
+
+    static class Counters {
+        private static long shared;
+        private int hits;
+        private long total;
+        private double ratio;
+        private boolean enabled;
+        private String label;
+    }
+}
@@ -0,0 +1,95 @@
+package zzik2.zreflex.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import zzik2.zreflex.enumeration.ZEnumTool;
+import zzik2.zreflex.mixin.ModifyAccessTransformer;
+import zzik2.zreflex.reflection.ZReflectionTool;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Emit resolve, enum mutation and access transform events")
+    void emitEvents() throws Exception {
+        Path file = directory.resolve("zreflex.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MemberResolveEvent.class);
+            recording.enable(EnumMutationEvent.class);
+            recording.enable(AccessTransformEvent.class);
+            recording.start();
+
+            ZReflectionTool.findField(Target.class, "value");
+            ZReflectionTool.findField(Target.class, "value");
+            ZReflectionTool.findMethodOptional(Target.class, "absent", int.class);
+            ZEnumTool.addConstant(Mode.class, "EXTRA");
+            new ModifyAccessTransformer().postApply("Target", annotatedClass(), "MixinClass", null);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> resolves = ofType(events, "zzik2.zreflex.MemberResolve");
+        RecordedEvent field = find(resolves, "value").orElseThrow();
+        assertEquals(Target.class.getName(), field.getClass("ownerClass").getName());
+        assertEquals("field", field.getString("memberKind"));
+        assertTrue(field.getBoolean("found"));
+        assertEquals(1, resolves.stream().filter(event -> "value".equals(event.getString("member"))).count());
+        assertFalse(find(resolves, "absent(int)").orElseThrow().getBoolean("found"));
+
+        RecordedEvent mutation = ofType(events, "zzik2.zreflex.EnumMutation").get(0);
+        assertEquals(Mode.class.getName(), mutation.getClass("enumType").getName());
+        assertEquals(1, mutation.getInt("constantCount"));
+        assertEquals(3, mutation.getInt("arrayLength"));
+
+        RecordedEvent transform = ofType(events, "zzik2.zreflex.AccessTransform").get(0);
+        assertEquals("Target", transform.getString("targetClass"));
+        assertEquals(1, transform.getInt("changedMembers"));
+    }
+
+    private static ClassNode annotatedClass() {
+        ClassNode classNode = new ClassNode();
+        classNode.name = "Target";
+        FieldNode field = new FieldNode(Opcodes.ACC_PRIVATE, "value", "I", null, null);
+        AnnotationNode annotation = new AnnotationNode("Lzzik2/zreflex/mixin/ModifyAccess;");
+        annotation.values = List.of("access", List.of(Opcodes.ACC_PUBLIC));
+        field.visibleAnnotations = List.of(annotation);
+        classNode.fields.add(field);
+        return classNode;
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private static Optional<RecordedEvent> find(List<RecordedEvent> resolves, String member) {
+        return resolves.stream().filter(event -> member.equals(event.getString("member"))).findFirst();
+    }
+
+    enum Mode {
+        ON, OFF
+    }
+
+    static class Target {
+        private int value;
+    }
+}
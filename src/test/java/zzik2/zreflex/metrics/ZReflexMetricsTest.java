@@ -0,0 +1,136 @@
+package zzik2.zreflex.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import zzik2.zreflex.enumeration.ZEnumTool;
+import zzik2.zreflex.mixin.ModifyAccessTransformer;
+import zzik2.zreflex.reflection.ZReflectionTool;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs with -Dzreflex.metrics=true, set for the test task in build.gradle.
+class ZReflexMetricsTest {
+
+    private final ZReflexMetrics metrics = ZReflexMetrics.getInstance();
+
+    @Test
+    @DisplayName("Metrics are enabled and registered as an MBean")
+    void registered() throws Exception {
+        assertTrue(ZReflexMetrics.ENABLED);
+        ObjectName name = new ObjectName(ZReflexMetrics.OBJECT_NAME);
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        assertNotNull(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "LookupHits"));
+    }
+
+    @Test
+    @DisplayName("Count lookup hits, misses and negative hits")
+    void countLookups() {
+        long hits = metrics.getLookupHits();
+        long misses = metrics.getLookupMisses();
+        long negativeHits = metrics.getNegativeHits();
+
+        ZReflectionTool.findField(Target.class, "value");
+        ZReflectionTool.findField(Target.class, "value");
+        ZReflectionTool.findFieldOptional(Target.class, "absent");
+        ZReflectionTool.findFieldOptional(Target.class, "absent");
+
+        assertTrue(metrics.getLookupMisses() >= misses + 2);
+        assertTrue(metrics.getLookupHits() >= hits + 1);
+        assertTrue(metrics.getNegativeHits() >= negativeHits + 1);
+        assertTrue(metrics.getResolveTimeNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Count a lookup that walks up the superclass chain once")
+    void countInheritedLookupsOnce() {
+        long misses = metrics.getLookupMisses();
+
+        ZReflectionTool.findField(Derived.class, "inherited");
+        ZReflectionTool.findMethodExact(Derived.class, "inheritedMethod");
+
+        assertEquals(misses + 2, metrics.getLookupMisses());
+    }
+
+    @Test
+    @DisplayName("Count invocations per member")
+    void countInvocations() {
+        Target target = new Target();
+        ZReflectionTool.invokeMethod(target, "touch");
+        ZReflectionTool.invokeMethod0(target, "touch");
+        ZReflectionTool.getMethodInvoker(Target.class, "touch").invoke0(target);
+
+        assertEquals(3L, metrics.getInvocationsByMember().get(Target.class.getName() + "#touch"));
+        assertTrue(metrics.getInvocations() >= 3);
+    }
+
+    @Test
+    @DisplayName("Count enum mutations and transformed members")
+    void countMutations() {
+        long enumMutations = metrics.getEnumMutations();
+        long transformed = metrics.getTransformedMembers();
+
+        ZEnumTool.addConstant(Mode.class, "EXTRA");
+
+        ClassNode classNode = new ClassNode();
+        classNode.name = "Target";
+        FieldNode field = new FieldNode(Opcodes.ACC_PRIVATE, "value", "I", null, null);
+        AnnotationNode annotation = new AnnotationNode("Lzzik2/zreflex/mixin/ModifyAccess;");
+        annotation.values = List.of("access", List.of(Opcodes.ACC_PUBLIC));
+        field.visibleAnnotations = List.of(annotation);
+        classNode.fields.add(field);
+        classNode.fields.add(new FieldNode(Opcodes.ACC_PRIVATE, "untouched", "I", null, null));
+        ModifyAccessTransformer transformer = new ModifyAccessTransformer();
+        transformer.postApply("Target", classNode, "MixinClass", null);
+        transformer.postApply("Target", classNode, "MixinClass", null);
+
+        assertEquals(enumMutations + 1, metrics.getEnumMutations());
+        assertEquals(transformed + 1, metrics.getTransformedMembers());
+    }
+
+    @Test
+    @DisplayName("Count argument type tuples beyond the allocation-free dispatch cache")
+    void countArgumentCacheOverflows() {
+        long overflows = metrics.getArgumentCacheOverflows();
+        Object[] arguments = { 1, 2L, 3.0f, 4.0, (short) 5, (byte) 6, 'c', true, "s", new Object(), List.of() };
+        for (int round = 0; round < 2; round++) {
+            for (Object argument : arguments) {
+                assertSame(argument, ZReflectionTool.invokeStaticMethod1(Target.class, "identity", argument));
+            }
+        }
+        assertEquals(overflows + arguments.length - 8, metrics.getArgumentCacheOverflows());
+    }
+
+    enum Mode {
+        ON, OFF
+    }
+
+    static class Base {
+        private int inherited;
+
+        private void inheritedMethod() {
+        }
+    }
+
+    static class Derived extends Base {
+    }
+
+    static class Target {
+        private int value;
+
+        private void touch() {
+            value++;
+        }
+
+        private static Object identity(Object value) {
+            return value;
+        }
+    }
+}
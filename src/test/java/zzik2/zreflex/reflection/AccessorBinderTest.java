@@ -0,0 +1,179 @@
+package zzik2.zreflex.reflection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+import zzik2.zreflex.reflection.bind.Field;
+import zzik2.zreflex.reflection.bind.Method;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessorBinderTest {
+
+    @Test
+    @DisplayName("Bind field getters and setters")
+    void bindFields() {
+        EntityAccess access = ZReflectionTool.bind(EntityAccess.class, Entity.class);
+        Entity entity = new Entity();
+        assertEquals(20.0f, access.health(entity));
+        access.setHealth(entity, 5.0f);
+        assertEquals(5.0f, access.health(entity));
+        assertEquals("entity", access.name(entity));
+        access.setCount(3);
+        assertEquals(3, access.count());
+    }
+
+    @Test
+    @DisplayName("Bind instance and static methods")
+    void bindMethods() {
+        EntityAccess access = ZReflectionTool.bind(EntityAccess.class, Entity.class);
+        Entity entity = new Entity();
+        access.tick(entity);
+        access.tick(entity);
+        assertEquals(2, entity.ticks);
+        assertEquals(12, access.damage(entity, 4, 3));
+        assertEquals("static:x", access.describe("x"));
+        assertEquals("default", access.fallback());
+    }
+
+    @Test
+    @DisplayName("Bind to inherited members and reuse the binding")
+    void bindInheritedMembers() {
+        EntityAccess access = ZReflectionTool.bind(EntityAccess.class, Player.class);
+        Player player = new Player();
+        access.tick(player);
+        assertEquals(1, player.ticks);
+        assertSame(access, ZReflectionTool.bind(EntityAccess.class, Player.class));
+    }
+
+    @Test
+    @DisplayName("Binding fails upfront for missing members and bad signatures")
+    void invalidBindings() {
+        assertThrows(ReflectionException.class, () -> ZReflectionTool.bind(MissingAccess.class, Entity.class));
+        assertThrows(ReflectionException.class, () -> ZReflectionTool.bind(BadSignatureAccess.class, Entity.class));
+    }
+
+    @Test
+    @DisplayName("Bindings are generated next to the target and do not keep its loader alive")
+    void targetsUnload() throws Exception {
+        WeakReference<ClassLoader> loader = bindIsolatedCopy();
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(loader.get());
+    }
+
+    private static WeakReference<ClassLoader> bindIsolatedCopy() throws Exception {
+        ClassLoader loader = new IsolatingLoader(Entity.class);
+        Class<?> copy = loader.loadClass(Entity.class.getName());
+        CountAccess access = ZReflectionTool.bind(CountAccess.class, copy);
+        access.setCount(4);
+        assertEquals(4, access.count());
+        assertSame(loader, access.getClass().getClassLoader());
+        return new WeakReference<>(loader);
+    }
+
+    public interface CountAccess {
+        @Field("count")
+        int count();
+
+        @Field("count")
+        void setCount(int count);
+    }
+
+    interface EntityAccess {
+        @Field("health")
+        float health(Object entity);
+
+        @Field("health")
+        void setHealth(Object entity, float health);
+
+        @Field("name")
+        String name(Entity entity);
+
+        @Field("count")
+        int count();
+
+        @Field("count")
+        void setCount(int count);
+
+        @Method("tick")
+        void tick(Object entity);
+
+        @Method("damage")
+        int damage(Object entity, int amount, int multiplier);
+
+        @Method("describeStatic")
+        String describe(String value);
+
+        default String fallback() {
+            return "default";
+        }
+    }
+
+    interface MissingAccess {
+        @Field("missing")
+        int missing(Object entity);
+    }
+
+    interface BadSignatureAccess {
+        @Field("health")
+        float health(Object entity, float extra, float more);
+    }
+
+    static class Entity {
+        private static int count;
+        private float health = 20.0f;
+        private String name = "entity";
+        int ticks;
+
+        private void tick() {
+            ticks++;
+        }
+
+        private int damage(int amount, int multiplier) {
+            return amount * multiplier;
+        }
+
+        private static String describeStatic(String value) {
+            return "static:" + value;
+        }
+    }
+
+    static class Player extends Entity {
+    }
+
+    static final class IsolatingLoader extends ClassLoader {
+        private final Class<?> isolated;
+
+        IsolatingLoader(Class<?> isolated) {
+            super(isolated.getClassLoader());
+            this.isolated = isolated;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(isolated.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    String resource = name.replace('.', '/') + ".class";
+                    try (InputStream in = getParent().getResourceAsStream(resource)) {
+                        byte[] bytes = in.readAllBytes();
+                        loaded = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return loaded;
+            }
+        }
+    }
+}
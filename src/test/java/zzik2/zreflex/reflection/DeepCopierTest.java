@@ -0,0 +1,268 @@
+package zzik2.zreflex.reflection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeepCopierTest {
+
+    @Test
+    @DisplayName("Copy nested objects, arrays and collections")
+    void copyNestedGraph() {
+        Container source = Container.create();
+        Container copy = ZReflectionTool.deepCopy(source);
+
+        assertNotSame(source, copy);
+        assertEquals(source.id, copy.id);
+        assertSame(source.name, copy.name);
+        assertSame(source.mode, copy.mode);
+        assertArrayEquals(source.counts, copy.counts);
+        assertNotSame(source.counts, copy.counts);
+        assertNotSame(source.slots, copy.slots);
+        assertNotSame(source.slots[0], copy.slots[0]);
+        assertEquals("stone", copy.slots[0].item);
+        assertNull(copy.slots[1]);
+
+        assertNotSame(source.items, copy.items);
+        assertEquals(ArrayList.class, copy.items.getClass());
+        assertNotSame(source.items.get(0), copy.items.get(0));
+        assertEquals(source.items.get(0).count, copy.items.get(0).count);
+
+        assertNotSame(source.byName, copy.byName);
+        assertNotSame(source.byName.get("dirt"), copy.byName.get("dirt"));
+        assertEquals(TreeSet.class, copy.tags.getClass());
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(copy.tags));
+
+        copy.items.get(0).count = 99;
+        copy.counts[0] = -1;
+        assertEquals(1, source.items.get(0).count);
+        assertEquals(1, source.counts[0]);
+    }
+
+    @Test
+    @DisplayName("Preserve shared references and cycles")
+    void preserveIdentity() {
+        Container source = Container.create();
+        source.self = source;
+        source.byName.put("first", source.items.get(0));
+
+        Container copy = DeepCopier.defaults().copy(source);
+
+        assertSame(copy, copy.self);
+        assertSame(copy.items.get(0), copy.byName.get("first"));
+        assertSame(copy.slots[0], copy.byName.get("stone"));
+    }
+
+    @Test
+    @DisplayName("Hash containers stay consistent with copied keys")
+    void rehashCopiedKeys() {
+        Map<Slot, String> source = new HashMap<>();
+        Slot key = new Slot("key", 1);
+        source.put(key, "value");
+        Map<Slot, String> copy = ZReflectionTool.deepCopy(source);
+        Slot copiedKey = copy.keySet().iterator().next();
+        assertNotSame(key, copiedKey);
+        assertEquals("value", copy.get(copiedKey));
+    }
+
+    @Test
+    @DisplayName("Containers outside java.util are rebuilt through their constructors")
+    void rebuildCustomContainers() {
+        SlotIndex source = new SlotIndex();
+        Slot key = new Slot("key", 1);
+        source.put(key, "value");
+        Set<Set<Slot>> nested = new HashSet<>();
+        nested.add(new HashSet<>(Collections.singleton(key)));
+        TreeSet<String> reversed = new TreeSet<>(Comparator.reverseOrder());
+        reversed.addAll(Arrays.asList("a", "b"));
+        SortedTags tags = new SortedTags(Comparator.reverseOrder());
+        tags.add("x");
+        tags.add("y");
+
+        SlotIndex copy = ZReflectionTool.deepCopy(source);
+        Set<Set<Slot>> nestedCopy = ZReflectionTool.deepCopy(nested);
+        SortedTags tagsCopy = ZReflectionTool.deepCopy(tags);
+
+        assertEquals(SlotIndex.class, copy.getClass());
+        assertEquals("value", copy.get(copy.keySet().iterator().next()));
+        assertNotSame(key, copy.keySet().iterator().next());
+        Set<Slot> inner = nestedCopy.iterator().next();
+        assertTrue(nestedCopy.contains(inner));
+        assertTrue(inner.contains(inner.iterator().next()));
+        assertEquals(Arrays.asList("b", "a"), new ArrayList<>(ZReflectionTool.deepCopy(reversed)));
+        assertEquals(Arrays.asList("y", "x"), new ArrayList<>(tagsCopy));
+        assertEquals(EnumSet.of(Mode.IDLE), ZReflectionTool.deepCopy(EnumSet.of(Mode.IDLE)));
+        assertEquals(Arrays.asList("a", "b"), ZReflectionTool.deepCopy(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    @DisplayName("Immutable, wrapped and singleton JDK containers are rebuilt around copied keys")
+    void rebuildJdkContainers() {
+        Slot first = new Slot("first", 1);
+        Slot second = new Slot("second", 2);
+        Slot third = new Slot("third", 3);
+
+        Set<Slot> set = ZReflectionTool.deepCopy(Set.of(first, second, third));
+        Map<Slot, String> map = ZReflectionTool.deepCopy(Map.of(first, "a", second, "b"));
+        Set<Slot> unmodifiable = ZReflectionTool.deepCopy(Collections.unmodifiableSet(new HashSet<>(
+                Arrays.asList(first, second))));
+        Map<Slot, String> synchronizedMap = ZReflectionTool.deepCopy(Collections.synchronizedMap(
+                new HashMap<>(Collections.singletonMap(first, "a"))));
+        Map<Slot, String> singleton = ZReflectionTool.deepCopy(Collections.singletonMap(first, "a"));
+
+        assertEquals(3, set.size());
+        for (Slot slot : set) {
+            assertTrue(set.contains(slot));
+            assertNotSame(first, slot);
+        }
+        assertThrows(UnsupportedOperationException.class, () -> set.add(first));
+        for (Map.Entry<Slot, String> entry : map.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        for (Slot slot : unmodifiable) {
+            assertTrue(unmodifiable.contains(slot));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> unmodifiable.add(first));
+        Slot synchronizedKey = synchronizedMap.keySet().iterator().next();
+        assertEquals("a", synchronizedMap.get(synchronizedKey));
+        assertNotSame(first, synchronizedKey);
+        assertEquals("a", singleton.get(singleton.keySet().iterator().next()));
+        assertEquals(Collections.emptyList(), ZReflectionTool.deepCopy(Collections.emptyList()));
+    }
+
+    @Test
+    @DisplayName("Containers are filled after the containers their keys read")
+    void fillContainersInDependencyOrder() {
+        Holder source = new Holder();
+        source.parts.add("stone");
+        source.keys.add(new PartsKey(source.parts));
+
+        Holder copy = ZReflectionTool.deepCopy(source);
+
+        PartsKey key = copy.keys.iterator().next();
+        assertSame(copy.parts, key.parts);
+        assertTrue(copy.keys.contains(key));
+        assertTrue(copy.keys.contains(new PartsKey(Collections.singletonList("stone"))));
+    }
+
+    @Test
+    @DisplayName("Long linked graphs are copied without deep recursion")
+    void copyLongChains() {
+        Link head = null;
+        for (int i = 0; i < 200_000; i++) {
+            head = new Link(i, head);
+        }
+        Link copy = ZReflectionTool.deepCopy(head);
+        int length = 0;
+        for (Link current = copy; current != null; current = current.next) {
+            length++;
+        }
+        assertEquals(200_000, length);
+        assertEquals(199_999, copy.value);
+        assertNotSame(head.next, copy.next);
+    }
+
+    @Test
+    @DisplayName("Opted-out fields and types are shared by reference")
+    void shareOptedOutMembers() {
+        Container source = Container.create();
+        DeepCopier copier = DeepCopier.builder()
+                .shareField(Container.class, "items")
+                .shareType(Slot.class)
+                .build();
+
+        Container copy = copier.copy(source);
+
+        assertSame(source.items, copy.items);
+        assertSame(source.slots[0], copy.slots[0]);
+        assertNotSame(source.byName, copy.byName);
+        assertSame(source.byName.get("dirt"), copy.byName.get("dirt"));
+        assertNotSame(source.counts, copy.counts);
+    }
+
+    enum Mode {
+        ACTIVE, IDLE
+    }
+
+    static class Slot {
+        private final String item;
+        private int count;
+
+        Slot(String item, int count) {
+            this.item = item;
+            this.count = count;
+        }
+    }
+
+    static class PartsKey {
+        private final List<String> parts;
+
+        PartsKey(List<String> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PartsKey && parts.equals(((PartsKey) other).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return parts.hashCode();
+        }
+    }
+
+    static class Holder {
+        private final Set<PartsKey> keys = new HashSet<>();
+        private final List<String> parts = new ArrayList<>();
+    }
+
+    static class SlotIndex extends HashMap<Slot, String> {
+    }
+
+    static class SortedTags extends TreeSet<String> {
+        SortedTags(Comparator<String> comparator) {
+            super(comparator);
+        }
+    }
+
+    static class Link {
+        private final int value;
+        private final Link next;
+
+        Link(int value, Link next) {
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    static class Container {
+        private long id = 42L;
+        private String name = "chest";
+        private Mode mode = Mode.ACTIVE;
+        private int[] counts = { 1, 2, 3 };
+        private Slot[] slots = new Slot[2];
+        private List<Slot> items = new ArrayList<>();
+        private Map<String, Slot> byName = new LinkedHashMap<>();
+        private Set<String> tags = new TreeSet<>();
+        private Object self;
+
+        static Container create() {
+            Container container = new Container();
+            Slot stone = new Slot("stone", 64);
+            container.slots[0] = stone;
+            container.byName.put("stone", stone);
+            for (int i = 1; i <= 8; i++) {
+                Slot slot = new Slot("item" + i, i);
+                container.items.add(slot);
+            }
+            container.byName.put("dirt", new Slot("dirt", 16));
+            container.tags.add("b");
+            container.tags.add("a");
+            return container;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package zzik2.zreflex.reflection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldAccessorTest {
+
+    @Test
+    @DisplayName("Read and write primitive fields without boxing")
+    void primitiveAccess() {
+        Entity entity = new Entity();
+        FieldAccessor<Integer> id = ZReflectionTool.getFieldAccessor(Entity.class, "id");
+        FieldAccessor<Float> health = ZReflectionTool.getFieldAccessor(Entity.class, "health");
+        FieldAccessor<Long> age = ZReflectionTool.getFieldAccessor(Entity.class, "age");
+        FieldAccessor<Double> speed = ZReflectionTool.getFieldAccessor(Entity.class, "speed");
+        FieldAccessor<Boolean> alive = ZReflectionTool.getFieldAccessor(Entity.class, "alive");
+        FieldAccessor<Byte> flags = ZReflectionTool.getFieldAccessor(Entity.class, "flags");
+        FieldAccessor<Short> armor = ZReflectionTool.getFieldAccessor(Entity.class, "armor");
+        FieldAccessor<Character> symbol = ZReflectionTool.getFieldAccessor(Entity.class, "symbol");
+
+        assertEquals(7, id.getInt(entity));
+        assertEquals(20.0f, health.getFloat(entity));
+        assertEquals(100L, age.getLong(entity));
+        assertEquals(0.5, speed.getDouble(entity));
+        assertTrue(alive.getBoolean(entity));
+        assertEquals((byte) 3, flags.getByte(entity));
+        assertEquals((short) 12, armor.getShort(entity));
+        assertEquals('E', symbol.getChar(entity));
+
+        id.setInt(entity, 8);
+        health.setFloat(entity, 1.5f);
+        age.setLong(entity, 200L);
+        speed.setDouble(entity, 0.25);
+        alive.setBoolean(entity, false);
+        flags.setByte(entity, (byte) 4);
+        armor.setShort(entity, (short) 13);
+        symbol.setChar(entity, 'F');
+
+        assertEquals(8, id.getInt(entity));
+        assertEquals(1.5f, health.getFloat(entity));
+        assertEquals(200L, age.getLong(entity));
+        assertEquals(0.25, speed.getDouble(entity));
+        assertFalse(alive.getBoolean(entity));
+        assertEquals((byte) 4, flags.getByte(entity));
+        assertEquals((short) 13, armor.getShort(entity));
+        assertEquals('F', symbol.getChar(entity));
+    }
+
+    @Test
+    @DisplayName("Generic get and set box primitive values")
+    void genericAccess() {
+        Entity entity = new Entity();
+        FieldAccessor<Integer> id = ZReflectionTool.getFieldAccessor(Entity.class, "id");
+        FieldAccessor<String> name = ZReflectionTool.getFieldAccessor(Entity.class, "name");
+
+        assertEquals(7, id.get(entity));
+        id.set(entity, 9);
+        assertEquals(9, id.get(entity));
+        assertEquals("entity", name.get(entity));
+        name.set(entity, null);
+        assertNull(name.get(entity));
+    }
+
+    @Test
+    @DisplayName("Access static, final and inherited fields")
+    void staticFinalAndInheritedFields() {
+        FieldAccessor<Integer> counter = ZReflectionTool.getFieldAccessor(Entity.class, "counter");
+        counter.setInt(null, 41);
+        assertEquals(41, counter.getInt(null));
+
+        Entity entity = new Entity();
+        FieldAccessor<String> uuid = ZReflectionTool.getFieldAccessor(Entity.class, "uuid");
+        uuid.set(entity, "changed");
+        assertEquals("changed", uuid.get(entity));
+
+        FieldAccessor<Integer> inherited = ZReflectionTool.getFieldAccessor(Player.class, "id");
+        assertEquals(7, inherited.getInt(new Player()));
+        assertEquals("id", inherited.getName());
+        assertEquals(int.class, inherited.getType());
+    }
+
+    @Test
+    @DisplayName("Typed access with the wrong type fails")
+    void typeMismatchThrowsException() {
+        Entity entity = new Entity();
+        FieldAccessor<Integer> id = ZReflectionTool.getFieldAccessor(Entity.class, "id");
+        assertThrows(ReflectionException.class, () -> id.getLong(entity));
+        assertThrows(ReflectionException.class, () -> id.get("not an entity"));
+        assertThrows(ReflectionException.class, () -> ZReflectionTool.getFieldAccessor(Entity.class, "missing"));
+    }
+
+    @Test
+    @DisplayName("Accessors are bound once per field in a class next to the declaring class")
+    void constantBinding() throws NoSuchFieldException {
+        FieldAccessor<Integer> id = ZReflectionTool.getFieldAccessor(Entity.class, "id");
+        assertSame(id, FieldAccessor.of(Entity.class.getDeclaredField("id")));
+        assertNotSame(FieldAccessor.class, id.getClass());
+        assertEquals(Entity.class.getClassLoader(), id.getClass().getClassLoader());
+        assertEquals(Entity.class.getPackageName(), id.getClass().getPackageName());
+
+        FieldAccessor<Integer> maxValue = FieldAccessor.of(Integer.class.getField("MAX_VALUE"));
+        assertEquals(Integer.MAX_VALUE, maxValue.getInt(null));
+        assertEquals(FieldAccessor.class.getPackageName(), maxValue.getClass().getPackageName());
+    }
+
+    @Test
+    @DisplayName("Atomic operations on primitive, reference and static fields")
+    void atomicAccess() throws InterruptedException {
+        Entity entity = new Entity();
+        FieldAccessor<Integer> id = ZReflectionTool.getFieldAccessor(Entity.class, "id");
+        FieldAccessor<Long> age = ZReflectionTool.getFieldAccessor(Entity.class, "age");
+        FieldAccessor<String> name = ZReflectionTool.getFieldAccessor(Entity.class, "name");
+
+        assertTrue(id.compareAndSetInt(entity, 7, 8));
+        assertFalse(id.compareAndSetInt(entity, 7, 9));
+        assertTrue(id.compareAndSet(entity, 8, 10));
+        assertEquals(10, id.getAndAddInt(entity, 5));
+        assertEquals(15, id.getAndAdd(entity, 1));
+        assertEquals(16, id.getAndSet(entity, 1));
+        assertTrue(age.compareAndSetLong(entity, 100L, 101L));
+        assertEquals(101L, age.getAndAddLong(entity, 1L));
+
+        String current = name.getAcquire(entity);
+        assertTrue(name.compareAndSet(entity, current, "renamed"));
+        name.setRelease(entity, "released");
+        assertEquals("released", name.get(entity));
+
+        FieldAccessor<Integer> counter = ZReflectionTool.getFieldAccessor(Entity.class, "counter");
+        counter.setInt(null, 0);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    counter.getAndAddInt(null, 1);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4000, counter.getInt(null));
+        assertThrows(ReflectionException.class, () -> id.compareAndSetLong(entity, 1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Bulk extract and write fields across many targets")
+    void bulkAccess() {
+        int size = 20_000;
+        List<Entity> entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Entity entity = i % 2 == 0 ? new Entity() : new Player();
+            entity.id = i;
+            entity.health = i * 0.5f;
+            entities.add(entity);
+        }
+
+        int[] ids = new int[size];
+        ZReflectionTool.extractInts(entities, "id", ids);
+        float[] health = new float[size];
+        ZReflectionTool.extractFloats(entities, "health", health);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, ids[i]);
+            assertEquals(i * 0.5f, health[i]);
+        }
+
+        long[] ages = new long[size];
+        Arrays.fill(ages, 5L);
+        ZReflectionTool.writeLongs(entities, "age", ages);
+        String[] names = new String[size];
+        Arrays.fill(names, "bulk");
+        ZReflectionTool.writeValues(entities, "name", names);
+        assertEquals(5L, entities.get(size - 1).age);
+        assertEquals("bulk", entities.get(size / 2).name);
+
+        List<Entity> linked = new LinkedList<>(entities.subList(0, 3));
+        boolean[] alive = { false, false, false };
+        ZReflectionTool.writeBooleans(linked, "alive", alive);
+        String[] extracted = new String[3];
+        ZReflectionTool.extractValues(linked, "name", extracted);
+        assertFalse(entities.get(2).alive);
+        assertEquals("bulk", extracted[2]);
+
+        assertThrows(ReflectionException.class, () -> ZReflectionTool.extractInts(entities, "id", new int[1]));
+        ZReflectionTool.extractInts(Collections.emptyList(), "id", new int[0]);
+    }
+
+    @Test
+    @DisplayName("Bulk access resolves the field every target shares and rejects null targets")
+    void bulkAccessAcrossSubclasses() {
+        Shadowing shadowing = new Shadowing();
+        shadowing.id = 100;
+        Entity entity = new Entity();
+        entity.id = 1;
+        List<Entity> mixed = Arrays.asList(shadowing, entity);
+
+        int[] ids = new int[2];
+        ZReflectionTool.extractInts(mixed, "id", ids);
+        assertArrayEquals(new int[] { 7, 1 }, ids);
+
+        int[] shadowed = new int[1];
+        ZReflectionTool.extractInts(Collections.singletonList(shadowing), "id", shadowed);
+        assertEquals(100, shadowed[0]);
+
+        ReflectionException e = assertThrows(ReflectionException.class,
+                () -> ZReflectionTool.extractInts(Arrays.asList(null, entity), "id", new int[2]));
+        assertTrue(e.getMessage().contains("index 0"));
+    }
+
+    static class Entity {
+        private static int counter;
+        private final String uuid = String.valueOf("uuid");
+        private int id = 7;
+        private float health = 20.0f;
+        private long age = 100L;
+        private double speed = 0.5;
+        private boolean alive = true;
+        private byte flags = 3;
+        private short armor = 12;
+        private char symbol = 'E';
+        private String name = "entity";
+    }
+
+    static class Shadowing extends Entity {
+        private int id;
+    }
+
+    static class Player extends Entity {
+    }
+}
@@ -0,0 +1,77 @@
+package zzik2.zreflex.reflection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstanceFactoryTest {
+
+    @Test
+    @DisplayName("Create instances through fixed-arity factories")
+    void fixedArityCreation() {
+        InstanceFactory<Particle> noArgs = ZReflectionTool.getInstanceFactory(Particle.class);
+        assertEquals("default", noArgs.create0().name);
+
+        InstanceFactory<Particle> twoArgs = ZReflectionTool.getInstanceFactory(Particle.class, String.class,
+                int.class);
+        Particle particle = twoArgs.create2("smoke", 3);
+        assertEquals("smoke", particle.name);
+        assertEquals(3, particle.count);
+        assertNotSame(particle, twoArgs.create2("smoke", 3));
+        assertEquals(2, twoArgs.getParameterCount());
+    }
+
+    @Test
+    @DisplayName("Create instances through a private constructor")
+    void privateConstructor() {
+        InstanceFactory<Particle> factory = ZReflectionTool.getInstanceFactory(Particle.class, String.class);
+        assertEquals("private", factory.create1("private").name);
+        assertEquals("spread", factory.create("spread").name);
+    }
+
+    @Test
+    @DisplayName("Constructor exceptions propagate and wrong arity is rejected")
+    void failures() {
+        InstanceFactory<Particle> failing = ZReflectionTool.getInstanceFactory(Particle.class, int.class);
+        assertThrows(IllegalArgumentException.class, () -> failing.create1(-1));
+        assertThrows(ReflectionException.class, failing::create0);
+        assertThrows(ReflectionException.class, () -> ZReflectionTool.getInstanceFactory(Particle.class, Long.class));
+    }
+
+    @Test
+    @DisplayName("Factories are bound once per constructor in a class next to the declaring class")
+    void constantBinding() throws NoSuchMethodException {
+        InstanceFactory<Particle> factory = ZReflectionTool.getInstanceFactory(Particle.class, String.class,
+                int.class);
+        assertSame(factory, InstanceFactory.of(Particle.class.getDeclaredConstructor(String.class, int.class)));
+        assertNotSame(InstanceFactory.class, factory.getClass());
+        assertEquals(Particle.class.getClassLoader(), factory.getClass().getClassLoader());
+    }
+
+    static class Particle {
+        final String name;
+        final int count;
+
+        Particle() {
+            this("default", 0);
+        }
+
+        Particle(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        private Particle(String name) {
+            this(name, 1);
+        }
+
+        Particle(int count) {
+            this("counted", count);
+            if (count < 0) {
+                throw new IllegalArgumentException("count");
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package zzik2.zreflex.reflection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodInvokerTest {
+
+    @Test
+    @DisplayName("Invoke methods through fixed-arity entry points")
+    void fixedArityInvocation() {
+        Calculator calculator = new Calculator();
+        assertEquals("zero", ZReflectionTool.getMethodInvoker(Calculator.class, "zero").invoke0(calculator));
+        assertEquals(3, (int) ZReflectionTool.getMethodInvoker(Calculator.class, "increment", int.class)
+                .invoke1(calculator, 2));
+        assertEquals(21, (int) ZReflectionTool.getMethodInvoker(Calculator.class, "sum", int.class, int.class,
+                int.class, int.class, int.class, int.class).invoke6(calculator, 1, 2, 3, 4, 5, 6));
+    }
+
+    @Test
+    @DisplayName("Invoke private, static, inherited and void methods")
+    void methodKinds() {
+        MethodInvoker secret = ZReflectionTool.getMethodInvoker(Calculator.class, "secret", String.class);
+        assertEquals("secret:x", secret.invoke1(new Calculator(), "x"));
+
+        MethodInvoker twice = ZReflectionTool.getMethodInvoker(Calculator.class, "twice", long.class);
+        assertEquals(8L, (long) twice.invoke1(null, 4L));
+
+        MethodInvoker inherited = ZReflectionTool.getMethodInvoker(ScientificCalculator.class, "zero");
+        assertEquals("zero", inherited.invoke0(new ScientificCalculator()));
+
+        Calculator calculator = new Calculator();
+        MethodInvoker reset = ZReflectionTool.getMethodInvoker(Calculator.class, "reset");
+        assertNull(reset.invoke0(calculator));
+        assertTrue(calculator.resetCalled);
+        assertEquals(0, reset.getParameterCount());
+    }
+
+    @Test
+    @DisplayName("Invoke with an argument array")
+    void spreadInvocation() {
+        MethodInvoker sum = ZReflectionTool.getMethodInvoker(Calculator.class, "sum", int.class, int.class,
+                int.class, int.class, int.class, int.class);
+        assertEquals(6, (int) sum.invoke(new Calculator(), 1, 1, 1, 1, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Exceptions are not wrapped in InvocationTargetException")
+    void exceptionPropagation() {
+        Calculator calculator = new Calculator();
+        MethodInvoker fail = ZReflectionTool.getMethodInvoker(Calculator.class, "fail");
+        assertThrows(IllegalStateException.class, () -> fail.invoke0(calculator));
+
+        MethodInvoker io = ZReflectionTool.getMethodInvoker(Calculator.class, "io");
+        ReflectionException ex = assertThrows(ReflectionException.class, () -> io.invoke0(calculator));
+        assertTrue(ex.getCause() instanceof IOException);
+    }
+
+    @Test
+    @DisplayName("Typed entry points return primitives without boxing")
+    void primitiveInvocation() {
+        Calculator calculator = new Calculator();
+        MethodInvoker increment = ZReflectionTool.getMethodInvoker(Calculator.class, "increment", int.class);
+        assertEquals(5, increment.invokeInt1(calculator, 4));
+        assertThrows(ReflectionException.class, () -> increment.invokeLong1(calculator, 4));
+
+        MethodInvoker twice = ZReflectionTool.getMethodInvoker(Calculator.class, "twice", long.class);
+        assertEquals(10L, twice.invokeLong1(null, 5L));
+        assertThrows(ReflectionException.class, () -> twice.invokeLong0(null));
+        assertThrows(IllegalStateException.class,
+                () -> ZReflectionTool.getMethodInvoker(Calculator.class, "check").invokeBoolean0(calculator));
+    }
+
+    @Test
+    @DisplayName("Invokers are bound once per method in a class next to the declaring class")
+    void constantBinding() throws NoSuchMethodException {
+        MethodInvoker increment = ZReflectionTool.getMethodInvoker(Calculator.class, "increment", int.class);
+        assertSame(increment, MethodInvoker.of(Calculator.class.getDeclaredMethod("increment", int.class)));
+        assertNotSame(MethodInvoker.class, increment.getClass());
+        assertEquals(Calculator.class.getClassLoader(), increment.getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Wrong arity is rejected")
+    void wrongArity() {
+        MethodInvoker increment = ZReflectionTool.getMethodInvoker(Calculator.class, "increment", int.class);
+        assertThrows(ReflectionException.class, () -> increment.invoke0(new Calculator()));
+        assertThrows(ReflectionException.class, () -> increment.invoke2(new Calculator(), 1, 2));
+    }
+
+    static class Calculator {
+        boolean resetCalled;
+
+        public String zero() {
+            return "zero";
+        }
+
+        int increment(int value) {
+            return value + 1;
+        }
+
+        int sum(int a, int b, int c, int d, int e, int f) {
+            return a + b + c + d + e + f;
+        }
+
+        private String secret(String value) {
+            return "secret:" + value;
+        }
+
+        private static long twice(long value) {
+            return value * 2;
+        }
+
+        void reset() {
+            resetCalled = true;
+        }
+
+        void fail() {
+            throw new IllegalStateException("fail");
+        }
+
+        void io() throws IOException {
+            throw new IOException("io");
+        }
+
+        boolean check() {
+            throw new IllegalStateException("check");
+        }
+    }
+
+    static class ScientificCalculator extends Calculator {
+    }
+}
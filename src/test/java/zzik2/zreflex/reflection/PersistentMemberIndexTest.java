@@ -0,0 +1,188 @@
+package zzik2.zreflex.reflection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentMemberIndexTest {
+
+    private static final String LAUNCH = "launch-1";
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void detach() {
+        ZReflectionTool.usePersistentIndex(null);
+    }
+
+    @Test
+    @DisplayName("Record lookups and read them back after a restart")
+    void recordAndReload() throws Exception {
+        Path file = directory.resolve("members.idx");
+        PersistentMemberIndex index = PersistentMemberIndex.open(file, LAUNCH);
+        ZReflectionTool.usePersistentIndex(index);
+        Class<?> type = isolate(Seeded.class);
+        Method describe = ZReflectionTool.findMethod(type, "describe", String.class);
+        assertFalse(ZReflectionTool.findFieldOptional(type, "missing").isPresent());
+        index.save();
+
+        PersistentMemberIndex reloaded = PersistentMemberIndex.open(file, LAUNCH);
+        assertTrue(reloaded.getClassCount() >= 1);
+        PersistentMemberIndex.ClassEntry entry = reloaded.entryFor(type);
+        String recorded = entry.get(PersistentMemberIndex.key('M', "describe", new Class<?>[] { String.class }));
+        assertEquals(PersistentMemberIndex.describe(describe), recorded);
+        assertEquals(describe, PersistentMemberIndex.decodeMethod(type, "describe", recorded));
+        assertEquals("", entry.get(PersistentMemberIndex.key('F', "missing", null)));
+    }
+
+    @Test
+    @DisplayName("Seed lookups from recorded members and fall back when a record is stale")
+    void seedFromRecords() throws Exception {
+        PersistentMemberIndex index = PersistentMemberIndex.open(directory.resolve("seeded.idx"), LAUNCH);
+        Class<?> type = isolate(Seeded.class);
+        PersistentMemberIndex.ClassEntry entry = index.entryFor(type);
+        Method generic = type.getDeclaredMethod("describe", Object.class);
+        entry.put(PersistentMemberIndex.key('M', "describe", new Class<?>[] { String.class }),
+                PersistentMemberIndex.describe(generic));
+        entry.put(PersistentMemberIndex.key('F', "count", null), "zzik2.zreflex.Removed");
+        ZReflectionTool.usePersistentIndex(index);
+
+        assertEquals(generic, ZReflectionTool.findMethod(type, "describe", String.class));
+        assertEquals(int.class, ZReflectionTool.findField(type, "count").getType());
+        assertEquals(type.getName(), entry.get(PersistentMemberIndex.key('F', "count", null)));
+    }
+
+    @Test
+    @DisplayName("Answer recorded lookups without building the declared member tables")
+    void seedWithoutDeclaredTables() throws Exception {
+        Path file = directory.resolve("tables.idx");
+        PersistentMemberIndex index = PersistentMemberIndex.open(file, LAUNCH);
+        ZReflectionTool.usePersistentIndex(index);
+        ZReflectionTool.findMethod(isolate(Seeded.class), "describe", String.class);
+        ZReflectionTool.findField(isolate(Seeded.class), "count");
+        index.save();
+
+        ZReflectionTool.usePersistentIndex(PersistentMemberIndex.open(file, LAUNCH));
+        Class<?> type = isolate(Seeded.class);
+        assertEquals(String.class, ZReflectionTool.findMethod(type, "describe", String.class).getParameterTypes()[0]);
+        assertEquals(int.class, ZReflectionTool.findField(type, "count").getType());
+        MemberIndex members = MemberIndex.of(type);
+        assertNull(ZReflectionTool.getFieldValue(members, "declaredMethods"));
+        assertNull(ZReflectionTool.getFieldValue(members, "declaredFieldArray"));
+    }
+
+    @Test
+    @DisplayName("Drop records, hits and misses alike, once the launch fingerprint changes")
+    void invalidateOnFingerprintChange() throws Exception {
+        Path file = directory.resolve("shaped.idx");
+        PersistentMemberIndex index = PersistentMemberIndex.open(file, LAUNCH);
+        ZReflectionTool.usePersistentIndex(index);
+        Class<?> original = shaped(false);
+        assertEquals(Object.class, ZReflectionTool.findMethod(original, "describe", String.class)
+                .getParameterTypes()[0]);
+        assertFalse(ZReflectionTool.findFieldOptional(original, "extra").isPresent());
+        index.save();
+
+        PersistentMemberIndex reloaded = PersistentMemberIndex.open(file, LAUNCH);
+        assertEquals("", reloaded.entryFor(shaped(false)).get(PersistentMemberIndex.key('F', "extra", null)));
+
+        PersistentMemberIndex changed = PersistentMemberIndex.open(file, "launch-2");
+        assertEquals(0, changed.getClassCount());
+        ZReflectionTool.usePersistentIndex(changed);
+        Class<?> transformed = shaped(true);
+        assertEquals(String.class, ZReflectionTool.findMethod(transformed, "describe", String.class)
+                .getParameterTypes()[0]);
+        assertTrue(ZReflectionTool.findFieldOptional(transformed, "extra").isPresent());
+        changed.save();
+        assertEquals(0, PersistentMemberIndex.open(file, LAUNCH).getClassCount());
+    }
+
+    @Test
+    @DisplayName("Ignore a corrupted index file")
+    void ignoreCorruptedFile() throws IOException {
+        Path file = directory.resolve("corrupted.idx");
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5 });
+        PersistentMemberIndex index = PersistentMemberIndex.open(file, LAUNCH);
+        assertEquals(0, index.getClassCount());
+        index.save();
+        assertEquals(0, PersistentMemberIndex.open(file, LAUNCH).getClassCount());
+    }
+
+    // Defines a class under one fixed name, as a transformer would leave it with or without the added members.
+    private static Class<?> shaped(boolean transformed) {
+        String name = "zzik2/zreflex/reflection/Shaped";
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, "java/lang/Object", null);
+        List<String> descriptors = new ArrayList<>(Collections.singletonList("(Ljava/lang/Object;)V"));
+        if (transformed) {
+            writer.visitField(Opcodes.ACC_PRIVATE, "extra", "I", null, null).visitEnd();
+            descriptors.add("(Ljava/lang/String;)V");
+        }
+        for (String descriptor : descriptors) {
+            MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "describe", descriptor, null, null);
+            method.visitCode();
+            method.visitInsn(Opcodes.RETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+        writer.visitEnd();
+        byte[] bytes = writer.toByteArray();
+        return new ClassLoader(PersistentMemberIndexTest.class.getClassLoader()) {
+            Class<?> define() {
+                return defineClass(name.replace('/', '.'), bytes, 0, bytes.length);
+            }
+        }.define();
+    }
+
+    // Loads a fresh copy of the class so its member index starts empty.
+    private static Class<?> isolate(Class<?> type) throws ClassNotFoundException {
+        return Class.forName(type.getName(), false, new ClassLoader(type.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.equals(type.getName())) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    if (loaded != null) {
+                        return loaded;
+                    }
+                    try (InputStream in = getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        byte[] bytes = in.readAllBytes();
+                        return defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+            }
+        });
+    }
+
+    static class Seeded {
+        private int count;
+
+        private String describe(Object value) {
+            return "object";
+        }
+
+        private String describe(String value) {
+            return "string";
+        }
+    }
+}
@@ -2,12 +2,23 @@ package zzik2.zreflex.reflection;
 
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import zzik2.zreflex.metrics.ZReflexMetrics;
 import zzik2.zreflex.reflection.ZReflectionTool.ReflectionException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -105,6 +116,87 @@ class ZReflectionToolTest {
             value = ZReflectionTool.getFieldValue(target, "primitiveField");
             assertEquals(100, value);
         }
+
+        @Test
+        @DisplayName("Atomic operations on private fields by name")
+        void atomicFieldAccess() {
+            TestClass target = new TestClass();
+            assertTrue(ZReflectionTool.compareAndSetField(target, "primitiveField", 42, 43));
+            assertFalse(ZReflectionTool.compareAndSetField(target, "primitiveField", 42, 44));
+            assertEquals(43, (int) ZReflectionTool.getAndAddField(target, "primitiveField", 7));
+            assertEquals(50, (int) ZReflectionTool.getFieldAcquire(target, "primitiveField"));
+
+            assertEquals("volatile", ZReflectionTool.getAndSetField(target, "volatileField", "swapped"));
+            ZReflectionTool.setFieldRelease(target, "privateField", "released");
+            assertEquals("released", ZReflectionTool.getFieldAcquire(target, "privateField"));
+            assertSame(ZReflectionTool.getFieldAccessor(TestClass.class, "primitiveField"),
+                    ZReflectionTool.getFieldAccessor(TestClass.class, "primitiveField"));
+            assertThrows(ReflectionException.class, () -> ZReflectionTool.getAndAddField(target, "privateField", "x"));
+        }
+
+        @Test
+        @DisplayName("Copy all instance fields across the hierarchy")
+        void copyFields() {
+            StateHolder source = new StateHolder();
+            source.setState();
+            ZReflectionTool.setFieldValue(source, "parentField", "copied");
+            StateHolder destination = new StateHolder();
+
+            ZReflectionTool.copyFields(source, destination);
+
+            assertEquals("copied", ZReflectionTool.getFieldValue(destination, "parentField"));
+            assertEquals("state", destination.name);
+            assertSame(source.values, destination.values);
+            assertEquals(Long.MAX_VALUE, destination.longValue);
+            assertEquals(2.5, destination.doubleValue);
+            assertEquals(-3, destination.intValue);
+            assertEquals(1.25f, destination.floatValue);
+            assertEquals((short) 7, destination.shortValue);
+            assertEquals('z', destination.charValue);
+            assertEquals((byte) -1, destination.byteValue);
+            assertTrue(destination.booleanValue);
+            assertEquals(source.id, destination.id);
+            assertEquals("static", ZReflectionTool.getStaticFieldValue(TestClass.class, "staticField"));
+        }
+
+        @Test
+        @DisplayName("Copy fields into a subclass instance")
+        void copyFieldsIntoSubclass() {
+            ChildWithShadowedField source = new ChildWithShadowedField();
+            ChildWithShadowedField destination = new ChildWithShadowedField();
+            ZReflectionTool.setFieldValue(source, "shadowedField", "changed");
+            ZReflectionTool.copyFields(source, destination);
+            assertEquals("changed", ZReflectionTool.getFieldValue(destination, "shadowedField"));
+
+            ParentClass parent = new ParentClass();
+            ZReflectionTool.setFieldValue(parent, "parentField", "base");
+            ChildClass child = new ChildClass();
+            ZReflectionTool.copyFields(parent, child);
+            assertEquals("base", ZReflectionTool.getFieldValue(child, "parentField"));
+
+            assertThrows(ReflectionException.class, () -> ZReflectionTool.copyFields(new TestClass(), parent));
+            assertThrows(ReflectionException.class, () -> ZReflectionTool.copyFields(child, null));
+        }
+
+        @Test
+        @DisplayName("Copy fields that share a name with another declared field")
+        void copyFieldsSharingAName() throws Exception {
+            Class<?> type = generated("zzik2.zreflex.reflection.SharedNames", "I", "Ljava/lang/String;");
+            Field[] fields = type.getDeclaredFields();
+            assertEquals(2, fields.length);
+            Object source = type.getConstructor().newInstance();
+            Object destination = type.getConstructor().newInstance();
+            for (Field field : fields) {
+                field.setAccessible(true);
+                field.set(source, field.getType() == int.class ? (Object) 42 : "text");
+            }
+
+            ZReflectionTool.copyFields(source, destination);
+
+            for (Field field : fields) {
+                assertEquals(field.get(source), field.get(destination));
+            }
+        }
     }
 
     @Nested
@@ -223,6 +315,34 @@ class ZReflectionToolTest {
             assertEquals("10", result);
         }
 
+        @Test
+        @DisplayName("Dynamic invocation picks the most specific overload")
+        void mostSpecificOverload() {
+            OverloadChild target = new OverloadChild();
+            assertEquals("string", ZReflectionTool.invokeMethod(target, "pick", "value"));
+            assertEquals("charSequence", ZReflectionTool.invokeMethod(target, "pick", new StringBuilder()));
+            assertEquals("object", ZReflectionTool.invokeMethod(target, "pick", new Object()));
+            assertEquals("string", ZReflectionTool.invokeMethod(target, "pick", (Object) null));
+            assertEquals("boxed", ZReflectionTool.invokeMethod(target, "box", 5));
+            assertEquals("primitive", ZReflectionTool.invokeMethod(target, "number", 5));
+            assertEquals("string", ZReflectionTool.newInstance(OverloadChild.class, "value").constructedWith);
+        }
+
+        @Test
+        @DisplayName("Invoke through fixed-arity dynamic entry points")
+        void fixedArityDynamicInvocation() {
+            TestClass target = new TestClass();
+            assertEquals("noArg", ZReflectionTool.invokeMethod0(target, "noArgMethod"));
+            assertEquals("string:test", ZReflectionTool.invokeMethod1(target, "overloaded", "test"));
+            assertEquals("int:42", ZReflectionTool.invokeMethod1(target, "overloaded", 42));
+            assertEquals("null", ZReflectionTool.invokeMethod1(target, "acceptsNull", null));
+            assertEquals("hello:123", ZReflectionTool.invokeMethod2(target, "withArgs", "hello", 123));
+            assertEquals(30, (int) ZReflectionTool.invokeStaticMethod2(TestClass.class, "staticAdd", 10, 20));
+            assertEquals("static", ZReflectionTool.invokeStaticMethod0(TestClass.class, "staticMethod"));
+            assertThrows(RuntimeException.class, () -> ZReflectionTool.invokeMethod0(target, "throwingMethod"));
+            assertThrows(ReflectionException.class, () -> ZReflectionTool.invokeMethod3(target, "withArgs", 1, 2, 3));
+        }
+
         @Test
         @DisplayName("Invoke method with List arg")
         void invokeWithListArg() {
@@ -231,6 +351,67 @@ class ZReflectionToolTest {
             int size = ZReflectionTool.invokeMethod(target, "getListSize", list);
             assertEquals(3, size);
         }
+
+        @Test
+        @DisplayName("Invoke a method on every target and collect failures")
+        void invokeAllCollectsFailures() {
+            List<Section> sections = Section.create(100);
+            sections.get(10).broken = true;
+            sections.get(70).broken = true;
+
+            BatchResult result = ZReflectionTool.invokeAll(sections, "recalc", 3);
+
+            assertEquals(100, result.getTargetCount());
+            assertEquals(98, result.getSuccessCount());
+            assertEquals(2, result.getFailures().size());
+            assertSame(sections.get(10), result.getFailures().get(0).getTarget());
+            assertTrue(result.getFailures().get(0).getCause() instanceof IllegalStateException);
+            assertEquals(3, sections.get(99).value);
+            assertEquals(0, sections.get(70).value);
+            assertFalse(ZReflectionTool.invokeAll(Collections.emptyList(), "recalc", 3).hasFailures());
+
+            List<Section> withNull = new ArrayList<>(Arrays.asList(null, sections.get(0), null));
+            BatchResult nulls = ZReflectionTool.invokeAll(withNull, "recalc", 1);
+            assertEquals(1, nulls.getSuccessCount());
+            assertNull(nulls.getFailures().get(0).getTarget());
+            assertTrue(nulls.getFailures().get(0).getCause() instanceof NullPointerException);
+            assertEquals(4, sections.get(0).value);
+        }
+
+        @Test
+        @DisplayName("Invoke a method on every target in parallel")
+        void invokeAllInParallel() throws Exception {
+            List<Section> sections = Section.create(10_000);
+            sections.get(5_000).broken = true;
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+            try {
+                BatchResult pooled = ZReflectionTool.invokeAll(sections, "recalc", BatchOptions.parallel(executor, 64),
+                        1);
+                assertEquals(1, pooled.getFailures().size());
+                BatchResult forked = ZReflectionTool.invokeAll(sections, "recalc", BatchOptions.parallel(128), 1);
+                assertEquals(9_999, forked.getSuccessCount());
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(2, sections.get(9_999).value);
+            assertThrows(IllegalArgumentException.class, () -> BatchOptions.parallel(0));
+            assertThrows(ReflectionException.class, () -> ZReflectionTool.invokeAll(sections, "missing"));
+        }
+
+        @Test
+        @DisplayName("Virtual machine errors escape a pooled batch unwrapped")
+        void invokeAllRethrowsErrors() {
+            List<Section> sections = Section.create(256);
+            sections.get(200).fatal = true;
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                StackOverflowError error = assertThrows(StackOverflowError.class,
+                        () -> ZReflectionTool.invokeAll(sections, "recalc", BatchOptions.parallel(executor, 64), 1));
+                assertEquals("fatal section", error.getMessage());
+            } finally {
+                executor.shutdown();
+            }
+        }
     }
 
     @Nested
@@ -283,6 +464,17 @@ class ZReflectionToolTest {
             assertEquals("exact", ZReflectionTool.getFieldValue(instance, "privateField"));
         }
 
+        @Test
+        @DisplayName("Create instances through fixed-arity dynamic entry points")
+        void fixedArityDynamicInstantiation() {
+            assertNotNull(ZReflectionTool.newInstance0(TestClass.class));
+            TestClass instance = ZReflectionTool.newInstance2(TestClass.class, "value", 123);
+            assertEquals("value", ZReflectionTool.getFieldValue(instance, "privateField"));
+            assertEquals(123, (int) ZReflectionTool.getFieldValue(instance, "primitiveField"));
+            assertNotNull(ZReflectionTool.newInstance1(PrivateConstructorClass.class, "test"));
+            assertThrows(ReflectionException.class, () -> ZReflectionTool.newInstance1(TestClass.class, new Date()));
+        }
+
         @Test
         @DisplayName("Throw exception when no matching constructor")
         void noMatchingConstructorThrowsException() {
@@ -351,6 +543,107 @@ class ZReflectionToolTest {
             assertNotNull(constructor);
         }
 
+        @Test
+        @DisplayName("Find constructor exact")
+        void findConstructorExact() {
+            Constructor<TestClass> constructor = ZReflectionTool.findConstructorExact(TestClass.class, String.class,
+                    int.class);
+            assertEquals(2, constructor.getParameterCount());
+            assertThrows(ReflectionException.class,
+                    () -> ZReflectionTool.findConstructorExact(TestClass.class, Object.class));
+        }
+
+        @Test
+        @DisplayName("Repeated lookups are served from the member index")
+        void repeatedLookupsAreCached() {
+            assertSame(ZReflectionTool.findField(GrandChildClass.class, "parentField"),
+                    ZReflectionTool.findField(GrandChildClass.class, "parentField"));
+            assertSame(ZReflectionTool.findMethod(TestClass.class, "withArgs", String.class, Integer.class),
+                    ZReflectionTool.findMethod(TestClass.class, "withArgs", String.class, Integer.class));
+            assertSame(ZReflectionTool.findMethodExact(TestClass.class, "overloaded", int.class),
+                    ZReflectionTool.findMethodExact(TestClass.class, "overloaded", int.class));
+            assertSame(ZReflectionTool.findConstructor(TestClass.class, String.class),
+                    ZReflectionTool.findConstructor(TestClass.class, String.class));
+        }
+
+        @Test
+        @DisplayName("Argument types from a loader the owner cannot see are not cached on it")
+        void foreignArgumentTypesAreNotCached() throws Exception {
+            Object foreign = generated("zzik2.zreflex.reflection.Foreign").getConstructor().newInstance();
+            List<Object> list = new ArrayList<>();
+            ZReflexMetrics metrics = ZReflexMetrics.getInstance();
+
+            ZReflectionTool.invokeMethod(list, "add", foreign);
+            long misses = metrics.getLookupMisses();
+            ZReflectionTool.invokeMethod(list, "add", foreign);
+
+            assertEquals(2, list.size());
+            assertEquals(misses + 1, metrics.getLookupMisses());
+            long ownMisses = metrics.getLookupMisses();
+            ZReflectionTool.invokeMethod(list, "add", "local");
+            ZReflectionTool.invokeMethod(list, "add", "local");
+            assertTrue(metrics.getLookupMisses() <= ownMisses + 1);
+        }
+
+        @Test
+        @DisplayName("Repeated Optional misses stay empty and do not affect hits")
+        void repeatedOptionalMisses() {
+            for (int i = 0; i < 3; i++) {
+                assertFalse(ZReflectionTool.findFieldOptional(GrandChildClass.class, "nonExistent").isPresent());
+                assertFalse(ZReflectionTool.findMethodOptional(GrandChildClass.class, "parentMethod", String.class)
+                        .isPresent());
+                assertFalse(ZReflectionTool.findDeclaredClassOptional(TestClass.class, "Missing").isPresent());
+            }
+            assertTrue(ZReflectionTool.findFieldOptional(GrandChildClass.class, "parentField").isPresent());
+            assertTrue(ZReflectionTool.findMethodOptional(GrandChildClass.class, "parentMethod").isPresent());
+            assertThrows(ReflectionException.class,
+                    () -> ZReflectionTool.findField(GrandChildClass.class, "nonExistent"));
+        }
+
+        @Test
+        @DisplayName("Preload classes and report per-class timings")
+        void preloadClasses() {
+            PreloadReport report = ZReflectionTool.preload(Arrays.asList(TestClass.class, GrandChildClass.class,
+                    StateHolder.class));
+            assertEquals(3, report.getClassCount());
+            assertFalse(report.hasFailures());
+            assertEquals(Arrays.asList(TestClass.class.getName(), GrandChildClass.class.getName(),
+                    StateHolder.class.getName()), new ArrayList<>(report.getClassTimes().keySet()));
+            assertFalse(report.getElapsed().isNegative());
+            assertNotNull(ZReflectionTool.findField(GrandChildClass.class, "parentField"));
+        }
+
+        @Test
+        @DisplayName("Preload members into the caches their calls read")
+        void preloadMembers() throws Exception {
+            Method adjust = Gauge.class.getDeclaredMethod("adjust", int.class);
+            Constructor<Gauge> constructor = Gauge.class.getDeclaredConstructor();
+            Field level = Gauge.class.getDeclaredField("level");
+            PreloadReport report = ZReflectionTool.preloadMembers(Arrays.asList(adjust, constructor, level));
+
+            assertFalse(report.hasFailures());
+            assertEquals(Arrays.asList(Gauge.class.getName() + "#adjust(int)", Gauge.class.getName() + "#<init>()",
+                    Gauge.class.getName() + "#level"), new ArrayList<>(report.getClassTimes().keySet()));
+
+            // Runs with -Dzreflex.metrics=true, so every lookup that was not warmed counts a miss.
+            long misses = ZReflexMetrics.getInstance().getLookupMisses();
+            Gauge gauge = ZReflectionTool.newInstance(Gauge.class);
+            ZReflectionTool.invokeMethod(gauge, "adjust", 2);
+            ZReflectionTool.invokeMethod1(gauge, "adjust", 3);
+            assertEquals(5, ZReflectionTool.getFieldAccessor(Gauge.class, "level").getInt(gauge));
+            assertEquals(misses, ZReflexMetrics.getInstance().getLookupMisses());
+        }
+
+        @Test
+        @DisplayName("Preload classes by name and report missing ones")
+        void preloadClassNames() {
+            PreloadReport report = ZReflectionTool.preload(Arrays.asList(TestClass.class.getName(),
+                    "zzik2.zreflex.Missing"), ZReflectionToolTest.class.getClassLoader());
+            assertEquals(2, report.getClassCount());
+            assertEquals(Collections.singleton("zzik2.zreflex.Missing"), report.getFailures().keySet());
+            assertTrue(report.getFailures().get("zzik2.zreflex.Missing") instanceof ClassNotFoundException);
+        }
+
         @Test
         @DisplayName("Find constructor Optional")
         void findConstructorOptional() {
@@ -612,6 +905,117 @@ class ZReflectionToolTest {
             assertTrue(avgNanos < 10_000, "Field lookup should be fast");
         }
 
+        @Test
+        @DisplayName("Fixed-arity dynamic invocation allocates nothing in steady state")
+        void fixedArityInvocationAllocatesNothing() {
+            TestClass target = new TestClass();
+            String arg = "value";
+            for (int i = 0; i < WARMUP * 5; i++) {
+                ZReflectionTool.invokeMethod0(target, "noArgMethod");
+                ZReflectionTool.invokeMethod1(target, "acceptsNull", arg);
+                ZReflectionTool.invokeMethod2(target, "firstOf", arg, arg);
+            }
+            long allocated = measureAllocatedBytes(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    ZReflectionTool.invokeMethod0(target, "noArgMethod");
+                    ZReflectionTool.invokeMethod1(target, "acceptsNull", arg);
+                    ZReflectionTool.invokeMethod2(target, "firstOf", arg, arg);
+                }
+            });
+            System.out.printf("Fixed-arity invoke: %d bytes allocated over %d iterations%n", allocated, ITERATIONS);
+            assertEquals(0, allocated, "Fixed-arity invocation should not allocate");
+        }
+
+        @Test
+        @DisplayName("Fixed-arity dynamic invocation allocates nothing past the inline argument type entries")
+        void fixedArityInvocationBeyondInlineEntriesAllocatesNothing() {
+            Object[] arguments = { 1, 2L, 3.0f, 4.0, (short) 5, (byte) 6, 'c', true, "s", new Object(), List.of(),
+                    new int[0], Optional.empty() };
+            for (int i = 0; i < WARMUP * 5; i++) {
+                for (Object argument : arguments) {
+                    ZReflectionTool.invokeStaticMethod1(TestClass.class, "echo", argument);
+                }
+            }
+            long allocated = measureAllocatedBytes(() -> {
+                for (int i = 0; i < ITERATIONS / 10; i++) {
+                    for (Object argument : arguments) {
+                        ZReflectionTool.invokeStaticMethod1(TestClass.class, "echo", argument);
+                    }
+                }
+            });
+            assertEquals(0, allocated, "Overflowing argument type tuples should be matched without allocating");
+        }
+
+        @Test
+        @DisplayName("Unboxed invoker returns allocate nothing for primitive results")
+        void primitiveReturnsAllocateNothing() {
+            MethodInvoker add = ZReflectionTool.getMethodInvoker(TestClass.class, "staticAdd", int.class, int.class);
+            Integer a = 40_000;
+            Integer b = 50_000;
+            for (int i = 0; i < WARMUP * 5; i++) {
+                add.invokeInt2(null, a, b);
+            }
+            long allocated = measureAllocatedBytes(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    if (add.invokeInt2(null, a, b) != 90_000) {
+                        throw new AssertionError();
+                    }
+                }
+            });
+            assertEquals(0, allocated, "invokeInt should return the int without boxing it");
+        }
+
+        @Test
+        @DisplayName("Fixed-arity dynamic instantiation allocates only the instance")
+        void fixedArityInstantiationAllocatesOnlyInstance() {
+            for (int i = 0; i < WARMUP * 5; i++) {
+                ZReflectionTool.newInstance0(EmptyClass.class);
+            }
+            long allocated = measureAllocatedBytes(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    ZReflectionTool.newInstance0(EmptyClass.class);
+                }
+            });
+            System.out.printf("Fixed-arity newInstance: %.2f bytes/op%n", (double) allocated / ITERATIONS);
+            assertTrue(allocated <= 16L * ITERATIONS, "Instantiation should only allocate the new instance");
+        }
+
+        @Test
+        @DisplayName("Batch invocation completes at every parallelism")
+        void invokeAllAtEveryParallelism() {
+            List<Section> sections = Section.create(ITERATIONS);
+            for (int i = 0; i < 5; i++) {
+                ZReflectionTool.invokeAll(sections, "recalc", 1);
+            }
+            int processors = Runtime.getRuntime().availableProcessors();
+            for (int parallelism = 1; parallelism <= Math.max(4, processors); parallelism *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    BatchOptions options = BatchOptions.parallel(pool, 2_048);
+                    BatchResult result = ZReflectionTool.invokeAll(sections, "recalc", options, 1);
+                    assertEquals(ITERATIONS, result.getSuccessCount());
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+
+        // Takes the minimum over several rounds so one-off JIT transitions do not count as steady-state allocation.
+        private long measureAllocatedBytes(Runnable action) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+            long minimum = Long.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                long calibrationStart = threads.getThreadAllocatedBytes(threadId);
+                long overhead = threads.getThreadAllocatedBytes(threadId) - calibrationStart;
+                long start = threads.getThreadAllocatedBytes(threadId);
+                action.run();
+                minimum = Math.min(minimum, threads.getThreadAllocatedBytes(threadId) - start - overhead);
+            }
+            return minimum;
+        }
+
         @Test
         @DisplayName("Direct access vs reflection comparison")
         void directVsReflectionComparison() {
@@ -642,6 +1046,32 @@ class ZReflectionToolTest {
         }
     }
 
+    // Defines a public class with a public no-arg constructor and one field named "value" per descriptor, in a
+    // fresh loader; bytecode, unlike Java source, allows several fields to share a name.
+    private static Class<?> generated(String name, String... fieldDescriptors) {
+        String internalName = name.replace('.', '/');
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object",
+                null);
+        for (String descriptor : fieldDescriptors) {
+            writer.visitField(Opcodes.ACC_PRIVATE, "value", descriptor, null, null).visitEnd();
+        }
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        writer.visitEnd();
+        byte[] bytes = writer.toByteArray();
+        return new ClassLoader(ZReflectionToolTest.class.getClassLoader()) {
+            Class<?> define() {
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        }.define();
+    }
+
     static class TestClass {
         private String privateField = "private";
         protected String protectedField = "protected";
@@ -670,6 +1100,10 @@ class ZReflectionToolTest {
             return "noArg";
         }
 
+        public String firstOf(String first, String second) {
+            return first;
+        }
+
         public String withArgs(String str, int num) {
             return str + ":" + num;
         }
@@ -690,6 +1124,10 @@ class ZReflectionToolTest {
             return a + b;
         }
 
+        public static Object echo(Object value) {
+            return value;
+        }
+
         private String privateMethod() {
             return "private";
         }
@@ -729,6 +1167,55 @@ class ZReflectionToolTest {
         }
     }
 
+    static class OverloadParent {
+        public String pick(String value) {
+            return "string";
+        }
+
+        public String pick(CharSequence value) {
+            return "charSequence";
+        }
+    }
+
+    static class OverloadChild extends OverloadParent {
+        String constructedWith;
+
+        OverloadChild() {
+        }
+
+        OverloadChild(Object value) {
+            constructedWith = "object";
+        }
+
+        OverloadChild(String value) {
+            constructedWith = "string";
+        }
+
+        public String pick(Object value) {
+            return "object";
+        }
+
+        public String box(Object value) {
+            return "object";
+        }
+
+        public String box(int value) {
+            return "primitive";
+        }
+
+        public String box(Integer value) {
+            return "boxed";
+        }
+
+        public String number(Number value) {
+            return "number";
+        }
+
+        public String number(int value) {
+            return "primitive";
+        }
+    }
+
     static class ParentClass {
         private String parentField = "parent";
 
@@ -740,6 +1227,69 @@ class ZReflectionToolTest {
     static class ChildClass extends ParentClass {
     }
 
+    static class Gauge {
+        private int level;
+
+        private void adjust(int delta) {
+            level += delta;
+        }
+    }
+
+    static class Section {
+        private boolean broken;
+        private boolean fatal;
+        private int value;
+        private long checksum;
+
+        static List<Section> create(int count) {
+            List<Section> sections = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                sections.add(new Section());
+            }
+            return sections;
+        }
+
+        private void recalc(Integer increment) {
+            if (broken) {
+                throw new IllegalStateException("broken section");
+            }
+            if (fatal) {
+                throw new StackOverflowError("fatal section");
+            }
+            value += increment;
+            for (int i = 0; i < 64; i++) {
+                checksum = checksum * 31 + value + i;
+            }
+        }
+    }
+
+    static class StateHolder extends ParentClass {
+        private final Object id = new Object();
+        private String name;
+        private int[] values;
+        private long longValue;
+        private double doubleValue;
+        private int intValue;
+        private float floatValue;
+        private short shortValue;
+        private char charValue;
+        private byte byteValue;
+        private boolean booleanValue;
+
+        void setState() {
+            name = "state";
+            values = new int[] { 1, 2 };
+            longValue = Long.MAX_VALUE;
+            doubleValue = 2.5;
+            intValue = -3;
+            floatValue = 1.25f;
+            shortValue = 7;
+            charValue = 'z';
+            byteValue = -1;
+            booleanValue = true;
+        }
+    }
+
     static class GrandChildClass extends ChildClass {
     }
 
@@ -747,6 +1297,9 @@ class ZReflectionToolTest {
         private String shadowedField = "child";
     }
 
+    static class EmptyClass {
+    }
+
     static class PrivateConstructorClass {
         private PrivateConstructorClass(String value) {
         }
@@ -787,12 +1340,150 @@ class ZReflectionToolTest {
             String result = ZReflectionTool.invokeMethod(proxy, "privateMethod");
             assertEquals("privateProxy", result);
         }
+
+        @Test
+        @DisplayName("Create generated proxy with typed handler")
+        void createGeneratedProxy() throws Exception {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle add = lookup.findStatic(Math.class, "addExact",
+                    MethodType.methodType(int.class, int.class, int.class));
+            MethodHandle scale = MethodHandles.dropArguments(MethodHandles.constant(long.class, 7L), 0, long.class,
+                    double.class);
+            MethodHandle reset = MethodHandles.constant(Object.class, null).asType(MethodType.methodType(void.class));
+            ProxyHandler handler = method -> {
+                switch (method.getName()) {
+                    case "add":
+                        return add;
+                    case "scale":
+                        return scale;
+                    case "reset":
+                        return reset;
+                    default:
+                        return null;
+                }
+            };
+            Counter counter = ZReflectionTool.createProxy(Counter.class, handler);
+            assertEquals(5, counter.add(2, 3));
+            assertEquals(7L, counter.scale(1L, 2.0));
+            counter.reset();
+            assertEquals("counter", counter.describe());
+            assertSame(counter.getClass(), ZReflectionTool.createProxy(Counter.class, handler).getClass());
+        }
+
+        @Test
+        @DisplayName("Generated proxies share one class per interface across handlers")
+        void generatedProxyClassPerInterface() {
+            Counter first = ZReflectionTool.createProxy(Counter.class, counterHandler(1, "first"));
+            Counter second = ZReflectionTool.createProxy(Counter.class, counterHandler(2, null));
+
+            assertSame(first.getClass(), second.getClass());
+            assertEquals(1, first.add(0, 0));
+            assertEquals(2, second.add(0, 0));
+            assertEquals("first", first.describe());
+            assertEquals("counter", second.describe());
+        }
+
+        private ProxyHandler counterHandler(int sum, String description) {
+            return method -> {
+                switch (method.getName()) {
+                    case "add":
+                        return MethodHandles.dropArguments(MethodHandles.constant(int.class, sum), 0, int.class,
+                                int.class);
+                    case "scale":
+                        return MethodHandles.dropArguments(MethodHandles.constant(long.class, 0L), 0, long.class,
+                                double.class);
+                    case "reset":
+                        return MethodHandles.empty(MethodType.methodType(void.class));
+                    default:
+                        return description != null ? MethodHandles.constant(String.class, description) : null;
+                }
+            };
+        }
+
+        @Test
+        @DisplayName("Generated proxy requires implementations for abstract methods")
+        void generatedProxyMissingImplementation() {
+            assertThrows(ReflectionException.class, () -> ZReflectionTool.createProxy(Counter.class, method -> null));
+        }
+
+        @Test
+        @DisplayName("Create generated proxy for private and system interfaces")
+        void generatedProxyForPrivateAndSystemInterfaces() throws Exception {
+            Class<?> privateInterface = ZReflectionTool.findDeclaredClass(ClassWithPrivateInner.class, "PrivateInner");
+            Object proxy = ZReflectionTool.createProxy(privateInterface,
+                    method -> MethodHandles.constant(String.class, "generated"));
+            assertEquals("generated", ZReflectionTool.invokeMethod(proxy, "privateMethod"));
+
+            MethodHandle upper = MethodHandles.lookup().findVirtual(String.class, "toUpperCase",
+                    MethodType.methodType(String.class));
+            @SuppressWarnings("unchecked")
+            java.util.function.Function<Object, Object> function = ZReflectionTool.createProxy(
+                    java.util.function.Function.class, method -> method.getName().equals("apply") ? upper : null);
+            assertEquals("ABC", function.apply("abc"));
+        }
+
+        @Test
+        @DisplayName("Create delegate proxy forwarding to private members")
+        void createDelegateProxy() {
+            CounterImpl target = new CounterImpl();
+            Counter counter = ZReflectionTool.createDelegateProxy(Counter.class, target);
+            assertEquals(9, counter.add(4, 5));
+            assertEquals(25L, counter.scale(10L, 2.5));
+            counter.reset();
+            assertEquals(1, target.resets);
+            assertEquals("counter", counter.describe());
+            assertThrows(ReflectionException.class,
+                    () -> ZReflectionTool.createDelegateProxy(Counter.class, new Object()));
+        }
+
+        @Test
+        @DisplayName("Delegate proxy classes are generated once next to the delegate class")
+        void delegateProxyClass() {
+            Counter first = ZReflectionTool.createDelegateProxy(Counter.class, new CounterImpl());
+            Counter second = ZReflectionTool.createDelegateProxy(Counter.class, new CounterImpl());
+            assertSame(first.getClass(), second.getClass());
+            assertEquals(CounterImpl.class.getPackageName(), first.getClass().getPackageName());
+            assertEquals(3, second.add(1, 2));
+
+            @SuppressWarnings("unchecked")
+            java.util.function.Supplier<Object> supplier = ZReflectionTool.createDelegateProxy(
+                    java.util.function.Supplier.class, new java.util.concurrent.atomic.AtomicReference<>("system"));
+            assertEquals("system", supplier.get());
+        }
     }
 
     interface TestInterface {
         String testMethod();
     }
 
+    interface Counter {
+        int add(int a, int b);
+
+        long scale(long value, double factor);
+
+        void reset();
+
+        default String describe() {
+            return "counter";
+        }
+    }
+
+    static class CounterImpl {
+        int resets;
+
+        private int add(int a, int b) {
+            return a + b;
+        }
+
+        public long scale(long value, double factor) {
+            return (long) (value * factor);
+        }
+
+        public void reset() {
+            resets++;
+        }
+    }
+
     static class ClassWithPrivateInner {
         private interface PrivateInner {
             String privateMethod();